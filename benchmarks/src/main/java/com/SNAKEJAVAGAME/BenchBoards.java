@@ -0,0 +1,43 @@
+package com.SNAKEJAVAGAME;
+
+/**
+ * Board fixtures for the benchmarks: a snake of any length laid along the Hamiltonian cycle,
+ * so it can keep moving forever by following the cycle.
+ */
+final class BenchBoards {
+
+    private BenchBoards() {}
+
+    /** A size x size board with a snake of the given length (clamped to fit) lying on the cycle. */
+    static SnakeSimulation onCycle(int size, int length, long seed) {
+        int cells = size * size;
+        int[] next = AutopilotPolicy.buildCycle(size, size);
+        int len = Math.max(SnakeSimulation.START_LENGTH, Math.min(length, cells - 1));
+        int[] order = new int[cells];
+        for (int i = 1; i < cells; i++) order[i] = next[order[i - 1]];
+
+        SnakeSimulation sim = new SnakeSimulation(size, size, seed);
+        SnakeSimulation.Snapshot s = sim.snapshot();
+        s.cells = new int[len];
+        for (int i = 0; i < len; i++) s.cells[i] = order[len - 1 - i];
+        s.length = len;
+        s.vacatedCell = -1;
+        s.moved = false;
+        s.direction = sim.dirFromTo(order[len - 2], order[len - 1]);
+        s.nextDirection = s.direction;
+        s.queuedDirection = SnakeSimulation.NO_DIRECTION;
+        s.food = order[len + (cells - len) / 2];
+        sim.restore(s);
+        return sim;
+    }
+
+    /** Next-cell table of the cycle the fixtures lie on. */
+    static int[] cycle(int size) {
+        return AutopilotPolicy.buildCycle(size, size);
+    }
+
+    /** Clamps a requested length to what fits on the board. */
+    static int fit(int size, int length) {
+        return Math.max(SnakeSimulation.START_LENGTH, Math.min(length, size * size - 1));
+    }
+}
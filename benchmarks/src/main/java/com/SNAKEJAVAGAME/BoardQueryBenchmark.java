@@ -0,0 +1,92 @@
+package com.SNAKEJAVAGAME;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-frame queries the renderers and bots make: occupancy lookups at random cells and the
+ * sprite classification of body segments (corner index, direction between cells).
+ * Each invocation runs PROBES queries; scores are per query.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardQueryBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"20", "256", "1024"})
+    public int boardSize;
+
+    @Param({"100", "10000"})  // clamped to the board
+    public int snakeLength;
+
+    private SnakeSimulation sim;
+    private final int[] xs = new int[PROBES];
+    private final int[] ys = new int[PROBES];
+    private final int[] segments = new int[PROBES];
+
+    @Setup
+    public void setup() {
+        sim = BenchBoards.onCycle(boardSize, snakeLength, 42L);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < PROBES; i++) {
+            xs[i] = random.nextInt(boardSize);
+            ys[i] = random.nextInt(boardSize);
+            segments[i] = 1 + random.nextInt(sim.length() - 2);  // has a segment on both sides
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int isSnakeAt() {
+        int hits = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (sim.isSnakeAt(xs[i], ys[i])) hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int segmentIndexAt() {
+        int sum = 0;
+        for (int i = 0; i < PROBES; i++) sum += sim.segmentIndexAt(xs[i], ys[i]);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int cornerIndex() {
+        int sum = 0;
+        for (int i = 0; i < PROBES; i++) sum += sim.getCornerIndex(segments[i]);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int dirFromTo() {
+        int sum = 0;
+        for (int i = 0; i < PROBES; i++) {
+            int s = segments[i];
+            sum += sim.dirFromTo(sim.cellAt(s), sim.cellAt(s - 1));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,50 @@
+package com.SNAKEJAVAGAME;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One particle frame at a steady population: update the live particles, then emit game
+ * over bursts until the pool is full again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ParticleBenchmark {
+
+    @Param({"4096", "100000"})
+    public int particles;
+
+    private ParticleSystem system;
+
+    @Setup
+    public void setup() {
+        system = new ParticleSystem(particles);
+        refill();
+    }
+
+    @Benchmark
+    public int frame() {
+        system.update(1 / 60f);
+        refill();
+        return system.getCount();
+    }
+
+    private void refill() {
+        while (system.getCount() < particles - 35) system.emitGameOver(0, 0);
+    }
+}
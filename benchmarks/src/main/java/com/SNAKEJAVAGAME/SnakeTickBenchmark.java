@@ -0,0 +1,55 @@
+package com.SNAKEJAVAGAME;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One game step (the headless half of GameScreen.moveSnake): request the next turn along
+ * the cycle, then tick. Eating and food spawns happen as the snake sweeps the board; the
+ * round is restored from the start snapshot if it ever ends.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnakeTickBenchmark {
+
+    @Param({"20", "256", "1024"})
+    public int boardSize;
+
+    @Param({"3", "100", "10000"})  // clamped to the board
+    public int snakeLength;
+
+    private SnakeSimulation sim;
+    private SnakeSimulation.Snapshot start;
+    private int[] cycleNext;
+
+    @Setup
+    public void setup() {
+        sim = BenchBoards.onCycle(boardSize, snakeLength, 42L);
+        start = sim.snapshot();
+        cycleNext = BenchBoards.cycle(boardSize);
+    }
+
+    @Benchmark
+    public int moveSnake() {
+        if (sim.isGameOver()) sim.restore(start);
+        int head = sim.cellAt(0);
+        int dir = sim.dirFromTo(head, cycleNext[head]);
+        if (dir != sim.getDirection()) sim.requestTurn(dir);
+        return sim.tick();
+    }
+}
@@ -0,0 +1,49 @@
+package com.SNAKEJAVAGAME;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Food placement at different board fill ratios - the k-th free cell search must stay
+ * cheap on a nearly full board, where rejection sampling would spin, and on the largest
+ * board, where a flat scan of the block counts would dominate the tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnFoodBenchmark {
+
+    @Param({"20", "256", "1024", "4096"})
+    public int boardSize;
+
+    @Param({"0.1", "0.5", "0.9", "0.99"})
+    public double fillRatio;
+
+    private SnakeSimulation sim;
+
+    @Setup
+    public void setup() {
+        int length = (int) (boardSize * boardSize * fillRatio);
+        sim = BenchBoards.onCycle(boardSize, BenchBoards.fit(boardSize, length), 42L);
+    }
+
+    @Benchmark
+    public int spawnFood() {
+        sim.spawnFood();
+        return sim.getFoodCell();
+    }
+}
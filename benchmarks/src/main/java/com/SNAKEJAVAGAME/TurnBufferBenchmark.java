@@ -0,0 +1,51 @@
+package com.SNAKEJAVAGAME;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Turn buffering: a random key sequence through requestTurn, hitting the accept, reject
+ * (same or opposite direction) and second-turn paths. No ticks run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TurnBufferBenchmark {
+
+    private static final int KEYS = 1024;
+
+    private SnakeSimulation sim;
+    private final int[] keys = new int[KEYS];
+
+    @Setup
+    public void setup() {
+        sim = new SnakeSimulation(20, 20, 42L);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < KEYS; i++) keys[i] = random.nextInt(4);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public int requestTurn() {
+        int accepted = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (sim.requestTurn(keys[i])) accepted++;
+        }
+        return accepted;
+    }
+}
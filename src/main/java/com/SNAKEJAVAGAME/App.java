@@ -3,10 +3,8 @@ package com.SNAKEJAVAGAME;
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
@@ -24,6 +22,8 @@ public class App extends ApplicationAdapter {
     private OrthographicCamera camera;
     private SpriteBatch batch;
     private BitmapFont font;
+    private GameFont gameFont;
+    private final StringBuilder text = new StringBuilder(32);  // reused for the score line
     private GameAssets assets;
 
     private Array<Vector2> snake;
@@ -43,9 +43,11 @@ public class App extends ApplicationAdapter {
         batch = new SpriteBatch();
         font = new BitmapFont();
         font.getData().setScale(2f);
+        gameFont = new GameFont(font);
 
         assets = new GameAssets();
         assets.load();
+        batch.setShader(assets.getSpriteShader());
 
         random = new Random();
         resetGame();
@@ -178,24 +180,18 @@ public class App extends ApplicationAdapter {
         batch.draw(assets.food, food.x * CELL_SIZE, food.y * CELL_SIZE, CELL_SIZE, CELL_SIZE);
 
         // UI - Score with subtle background
-        font.setColor(new Color(0.95f, 0.95f, 0.9f, 1f));
-        font.draw(batch, "Score: " + score, 12, GRID_HEIGHT * CELL_SIZE - 12);
+        text.setLength(0);
+        gameFont.draw(batch, text.append("Score: ").append(score), 12, GRID_HEIGHT * CELL_SIZE - 12, GameFont.TEXT);
 
         if (gameOver) {
             // Semi-transparent overlay
             batch.setColor(1, 1, 1, 1);
             batch.draw(assets.overlay, 0, 0, GRID_WIDTH * CELL_SIZE, GRID_HEIGHT * CELL_SIZE);
 
-            font.setColor(new Color(0.95f, 0.2f, 0.2f, 1f));
-            String gameOverText = "GAME OVER!";
-            GlyphLayout layout = new GlyphLayout(font, gameOverText);
-            font.draw(batch, gameOverText, (GRID_WIDTH * CELL_SIZE - layout.width) / 2,
-                    GRID_HEIGHT * CELL_SIZE / 2 + 24);
-            font.setColor(new Color(0.9f, 0.9f, 0.85f, 1f));
-            String restartText = "Press SPACE to restart";
-            GlyphLayout restartLayout = new GlyphLayout(font, restartText);
-            font.draw(batch, restartText, (GRID_WIDTH * CELL_SIZE - restartLayout.width) / 2,
-                    GRID_HEIGHT * CELL_SIZE / 2 - 24);
+            gameFont.drawCentered(batch, "GAME OVER!", GRID_WIDTH * CELL_SIZE / 2f,
+                    GRID_HEIGHT * CELL_SIZE / 2 + 24, GameFont.RED);
+            gameFont.drawCentered(batch, "Press SPACE to restart", GRID_WIDTH * CELL_SIZE / 2f,
+                    GRID_HEIGHT * CELL_SIZE / 2 - 24, GameFont.TEXT_LIGHT);
         }
         batch.end();
     }
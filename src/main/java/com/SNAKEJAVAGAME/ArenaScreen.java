@@ -0,0 +1,201 @@
+package com.SNAKEJAVAGAME;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Arena mode - you are one snake among thousands of AI snakes on a big board.
+ * Rendering walks only the visible cells of the shared arena grid.
+ */
+public class ArenaScreen implements Screen {
+
+    private static final int ARENA_SIZE = 1024;
+    private static final int ARENA_SNAKES = 5000;
+    private static final int CELL_SIZE = SnakeRenderer.CELL_SIZE;
+    private static final int VIEW_CELLS = 32;
+
+    /** Tints for AI snakes, picked by snake id. */
+    private static final float[][] TINTS = {
+            {1f, 0.55f, 0.55f}, {0.55f, 0.7f, 1f}, {1f, 0.9f, 0.45f}, {0.8f, 0.55f, 1f},
+            {0.5f, 1f, 0.9f}, {1f, 0.7f, 0.4f}, {0.7f, 0.7f, 0.7f}, {1f, 0.6f, 0.85f}
+    };
+
+    private final SnakeGame game;
+    private final OrthographicCamera camera = new OrthographicCamera();
+    private final Viewport viewport;
+    private final Matrix4 hudMatrix = new Matrix4();
+    private final StringBuilder text = new StringBuilder(64);  // reused for HUD strings
+    private final SpriteBatch batch;
+    private final GameFont gameFont;
+
+    private ArenaSimulation arena;  // built on the first visit, reset on later ones
+    private final FixedStepClock clock = new FixedStepClock(SnakeSimulation.MOVE_INTERVAL);
+    private boolean paused;
+    private final float viewSize = VIEW_CELLS * CELL_SIZE;
+
+    public ArenaScreen(SnakeGame game) {
+        this.game = game;
+        viewport = new FitViewport(viewSize, viewSize, camera);
+        hudMatrix.setToOrtho2D(0, 0, viewSize, viewSize);
+        batch = game.getRenderContext().getBatch();
+        gameFont = game.getRenderContext().getFont();
+    }
+
+    @Override
+    public void show() {
+        viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        gameFont.setScale(2f);
+        if (arena == null) {
+            arena = new ArenaSimulation(ARENA_SIZE, ARENA_SIZE, ARENA_SNAKES, System.nanoTime());
+        } else {
+            arena.reset(System.nanoTime());
+        }
+        clock.reset();
+        paused = false;
+    }
+
+    @Override
+    public void render(float delta) {
+        if (!game.getAssets().isLoaded()) return;  // sprites still uploading
+        batch.setShader(game.getAssets().getSpriteShader());
+        Theme theme = game.getTheme();
+        boolean playerDead = !arena.isAlive(ArenaSimulation.PLAYER);
+
+        if (playerDead) {
+            if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) || Gdx.input.isKeyJustPressed(Input.Keys.ENTER)) {
+                arena.reset(System.nanoTime());
+                clock.reset();
+            } else if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
+                game.transitionTo(game.getMenuScreen(), TransitionScreen.Effect.FADE);
+                return;
+            }
+        } else if (paused) {
+            if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) paused = false;
+            else if (Gdx.input.isKeyJustPressed(Input.Keys.M)) {
+                game.transitionTo(game.getMenuScreen(), TransitionScreen.Effect.FADE);
+                return;
+            }
+        } else {
+            if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) paused = true;
+            else if (Gdx.input.isKeyJustPressed(Input.Keys.UP)) arena.requestTurn(SnakeSimulation.UP);
+            else if (Gdx.input.isKeyJustPressed(Input.Keys.RIGHT)) arena.requestTurn(SnakeSimulation.RIGHT);
+            else if (Gdx.input.isKeyJustPressed(Input.Keys.DOWN)) arena.requestTurn(SnakeSimulation.DOWN);
+            else if (Gdx.input.isKeyJustPressed(Input.Keys.LEFT)) arena.requestTurn(SnakeSimulation.LEFT);
+            int steps = clock.advance(delta);
+            for (int s = 0; s < steps && arena.isAlive(ArenaSimulation.PLAYER); s++) {
+                arena.tick();
+            }
+        }
+
+        // Follow the player's head (last known position when dead)
+        int head = arena.getHeadCell(ArenaSimulation.PLAYER);
+        float boardSize = ARENA_SIZE * CELL_SIZE;
+        float camX = MathUtils.clamp((head % ARENA_SIZE + 0.5f) * CELL_SIZE, viewSize / 2, boardSize - viewSize / 2);
+        float camY = MathUtils.clamp((head / ARENA_SIZE + 0.5f) * CELL_SIZE, viewSize / 2, boardSize - viewSize / 2);
+        camera.position.set(camX, camY, 0);
+        camera.update();
+
+        viewport.apply();
+        ScreenUtils.clear(theme.getBackground().r, theme.getBackground().g, theme.getBackground().b, 1f);
+
+        float left = camX - viewSize / 2;
+        float bottom = camY - viewSize / 2;
+        int minX = Math.max(0, (int) (left / CELL_SIZE));
+        int minY = Math.max(0, (int) (bottom / CELL_SIZE));
+        int maxX = Math.min(ARENA_SIZE - 1, (int) ((left + viewSize) / CELL_SIZE));
+        int maxY = Math.min(ARENA_SIZE - 1, (int) ((bottom + viewSize) / CELL_SIZE));
+
+        batch.setProjectionMatrix(camera.combined);
+        batch.begin();
+        GameAssets assets = game.getAssets();
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                float px = x * CELL_SIZE;
+                float py = y * CELL_SIZE;
+                int owner = arena.ownerAt(x, y);
+                if (owner < 0) {
+                    if (arena.isFoodAt(x, y)) batch.draw(assets.food, px, py, CELL_SIZE, CELL_SIZE);
+                    continue;
+                }
+                if (owner == ArenaSimulation.PLAYER) {
+                    batch.setColor(1, 1, 1, 1);
+                } else {
+                    float[] tint = TINTS[owner % TINTS.length];
+                    batch.setColor(tint[0], tint[1], tint[2], 1f);
+                }
+                boolean isHead = arena.getHeadCell(owner) == y * ARENA_SIZE + x;
+                TextureRegion tex = isHead ? assets.snakeHead[arena.getDirection(owner)] : assets.snakeBody;
+                batch.draw(tex, px, py, CELL_SIZE, CELL_SIZE);
+            }
+        }
+
+        // Board edge, only the sides in view
+        batch.setColor(theme.getBorder());
+        float border = 4f;
+        if (left < border) batch.draw(assets.borderLine, 0, bottom, border, viewSize);
+        if (bottom < border) batch.draw(assets.borderLine, left, 0, viewSize, border);
+        if (left + viewSize > boardSize - border) batch.draw(assets.borderLine, boardSize - border, bottom, border, viewSize);
+        if (bottom + viewSize > boardSize - border) batch.draw(assets.borderLine, left, boardSize - border, viewSize, border);
+        batch.setColor(1, 1, 1, 1);
+
+        // HUD
+        batch.setProjectionMatrix(hudMatrix);
+        gameFont.beginText(batch);
+        gameFont.setScale(2f);
+        text.setLength(0);
+        gameFont.drawWithShadow(batch, text.append("Score: ").append(arena.getScore(ArenaSimulation.PLAYER)),
+                12, viewSize - 12, GameFont.TEXT);
+        gameFont.setScale(1.5f);
+        text.setLength(0);
+        text.append("Alive: ").append(arena.getAliveCount()).append(" / ").append(arena.getSnakeCount());
+        gameFont.drawWithShadow(batch, text, 12, viewSize - 52, GameFont.TEXT_DIM);
+        gameFont.endText(batch);
+
+        if (paused || playerDead) {
+            batch.setColor(theme.getOverlay());
+            batch.draw(assets.overlay, 0, 0, viewSize, viewSize);
+            batch.setColor(1, 1, 1, 1);
+            gameFont.beginText(batch);
+            gameFont.setScale(2.5f);
+            if (paused) {
+                gameFont.drawCenteredWithShadow(batch, "PAUSED", viewSize / 2, viewSize / 2 + 24,
+                        GameFont.GREEN);
+                gameFont.drawCenteredWithShadow(batch, "Press ESC to resume | M for menu", viewSize / 2,
+                        viewSize / 2 - 24, GameFont.TEXT_LIGHT);
+            } else {
+                gameFont.drawCenteredWithShadow(batch, "GAME OVER!", viewSize / 2, viewSize / 2 + 24,
+                        GameFont.RED);
+                gameFont.drawCenteredWithShadow(batch, "Press SPACE to restart | ESC for menu", viewSize / 2,
+                        viewSize / 2 - 24, GameFont.TEXT_DIM);
+            }
+            gameFont.endText(batch);
+        }
+        batch.end();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height);
+    }
+
+    @Override
+    public void pause() {}
+
+    @Override
+    public void resume() {}
+
+    @Override
+    public void hide() {}
+
+    @Override
+    public void dispose() {}
+}
@@ -0,0 +1,374 @@
+package com.SNAKEJAVAGAME;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Headless arena rules - many AI snakes and many food items on one board.
+ *
+ * Every snake and food item lives in one shared grid (owner id per cell, plus a food
+ * byte grid), so all collision checks are single cell lookups and tick cost is linear
+ * in the number of snakes. A tick runs in three phases:
+ * <ol>
+ *   <li>decide (parallel) - each snake picks its next cell, reading the grid only</li>
+ *   <li>resolve (sequential, O(snakes)) - snakes aiming at the same cell all die,
+ *       so the outcome does not depend on iteration or thread order</li>
+ *   <li>move (parallel) - survivors write disjoint cells: their new head and old tail</li>
+ * </ol>
+ * Each snake has its own RNG stream, so a run is reproducible from its seed.
+ */
+public class ArenaSimulation {
+
+    public static final int PLAYER = 0;  // snake 0 can be steered from outside
+    private static final int START_LENGTH = 3;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int SENSE_RANGE = 8;  // cells an AI snake looks ahead for food
+    private static final int PARALLEL_CHUNK = 256;
+    private static final int RESPAWN_ATTEMPTS = 8;
+
+    private final int width;
+    private final int height;
+    private final int snakeCount;
+    private final int targetFood;
+
+    // Shared board
+    private final int[] grid;       // 0 = empty, otherwise snake id + 1
+    private final byte[] food;      // 1 = food on this cell
+    private final int[] claimTick;  // tick a head last claimed this cell (head-on detection)
+    private final int[] claimOwner;
+    private int foodCount;
+
+    // Per-snake state, structure of arrays
+    private final int[][] bodies;   // ring buffers of packed cells, head at heads[s]
+    private final int[] heads;
+    private final int[] lengths;
+    private final int[] directions;
+    private final int[] scores;
+    private final boolean[] alive;
+    private final long[] rng;       // per-snake xorshift state
+    private final int[] target;     // next head cell, -1 = hits a wall
+    private final boolean[] doomed; // dies in the resolve phase
+    private final boolean[] ate;
+
+    private long arenaRng;
+    private int tick;
+    private int aliveCount;
+    private long deaths;
+    private final TurnQueue playerTurns = new TurnQueue();
+    private boolean parallel = true;
+
+    public ArenaSimulation(int width, int height, int snakeCount, long seed) {
+        if (snakeCount < 1) throw new IllegalArgumentException("Need at least one snake");
+        this.width = width;
+        this.height = height;
+        this.snakeCount = snakeCount;
+        this.targetFood = Math.max(1, Math.min(snakeCount * 2, width * height / 8));
+
+        int cells = width * height;
+        grid = new int[cells];
+        food = new byte[cells];
+        claimTick = new int[cells];
+        claimOwner = new int[cells];
+
+        bodies = new int[snakeCount][INITIAL_CAPACITY];
+        heads = new int[snakeCount];
+        lengths = new int[snakeCount];
+        directions = new int[snakeCount];
+        scores = new int[snakeCount];
+        alive = new boolean[snakeCount];
+        rng = new long[snakeCount];
+        target = new int[snakeCount];
+        doomed = new boolean[snakeCount];
+        ate = new boolean[snakeCount];
+
+        reset(seed);
+    }
+
+    public void reset(long seed) {
+        Arrays.fill(grid, 0);
+        Arrays.fill(food, (byte) 0);
+        Arrays.fill(claimTick, -1);
+        foodCount = 0;
+        tick = 0;
+        deaths = 0;
+        aliveCount = 0;
+        arenaRng = BatchSimulator.gameSeed(seed, -1) | 1;
+        for (int s = 0; s < snakeCount; s++) {
+            rng[s] = BatchSimulator.gameSeed(seed, s) | 1;
+            lengths[s] = 0;
+            alive[s] = false;
+            scores[s] = 0;
+            spawn(s);
+        }
+        fillFood();
+    }
+
+    /**
+     * Player steering for snake 0, buffered like {@link SnakeSimulation#requestTurn}: two
+     * quick turns within one tick are taken on consecutive ticks.
+     * @return true if the turn was accepted
+     */
+    public boolean requestTurn(int dir) {
+        return playerTurns.request(dir);
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public void tick() {
+        tick++;
+        if (parallel && snakeCount >= PARALLEL_CHUNK * 2) {
+            int chunks = (snakeCount + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+            IntStream.range(0, chunks).parallel().forEach(c -> decideRange(c * PARALLEL_CHUNK,
+                    Math.min(snakeCount, (c + 1) * PARALLEL_CHUNK)));
+            resolve();
+            IntStream.range(0, chunks).parallel().forEach(c -> moveRange(c * PARALLEL_CHUNK,
+                    Math.min(snakeCount, (c + 1) * PARALLEL_CHUNK)));
+        } else {
+            decideRange(0, snakeCount);
+            resolve();
+            moveRange(0, snakeCount);
+        }
+        finishTick();
+    }
+
+    // --- Phase 1: decide (reads shared grid, writes only per-snake slots) ---
+
+    private void decideRange(int from, int to) {
+        for (int s = from; s < to; s++) {
+            if (!alive[s]) continue;
+            int dir;
+            if (s == PLAYER) {
+                // The player's snake only goes where it is steered; it never thinks for itself
+                dir = playerTurns.advance();
+            } else {
+                dir = think(s);
+            }
+            directions[s] = dir;
+            int head = bodies[s][heads[s]];
+            int x = head % width + SnakeSimulation.dx(dir);
+            int y = head / width + SnakeSimulation.dy(dir);
+            target[s] = x < 0 || x >= width || y < 0 || y >= height ? -1 : y * width + x;
+        }
+    }
+
+    /** Cheap AI: look along straight/left/right for food, avoid blocked cells, wander a little. */
+    private int think(int s) {
+        int current = directions[s];
+        int head = bodies[s][heads[s]];
+        int hx = head % width;
+        int hy = head / width;
+
+        int best = current;
+        int bestScore = Integer.MIN_VALUE;
+        for (int turn = 0; turn < 3; turn++) {
+            int dir = (current + (turn == 0 ? 0 : turn == 1 ? 1 : 3)) & 3;
+            int ddx = SnakeSimulation.dx(dir);
+            int ddy = SnakeSimulation.dy(dir);
+            int score = 0;
+            for (int step = 1; step <= SENSE_RANGE; step++) {
+                int x = hx + ddx * step;
+                int y = hy + ddy * step;
+                if (x < 0 || x >= width || y < 0 || y >= height || grid[y * width + x] != 0) {
+                    if (step == 1) score = -1000;  // certain death
+                    break;
+                }
+                if (food[y * width + x] != 0) {
+                    score += 100 - step * 10;
+                    break;
+                }
+                score++;  // open space ahead
+            }
+            if (turn == 0) score += 2;  // prefer going straight
+            score += (int) (nextRandom(s) & 3);  // a little wander
+            if (score > bestScore) {
+                bestScore = score;
+                best = dir;
+            }
+        }
+        return best;
+    }
+
+    // --- Phase 2: resolve conflicts (sequential, deterministic) ---
+
+    private void resolve() {
+        for (int s = 0; s < snakeCount; s++) {
+            if (!alive[s]) continue;
+            int c = target[s];
+            doomed[s] = false;
+            if (c < 0 || grid[c] != 0) {
+                doomed[s] = true;  // wall or body (tails have not moved yet, so they count)
+                continue;
+            }
+            if (claimTick[c] == tick) {
+                // Head-on: everyone aiming at this cell dies
+                doomed[s] = true;
+                doomed[claimOwner[c]] = true;
+            } else {
+                claimTick[c] = tick;
+                claimOwner[c] = s;
+            }
+        }
+    }
+
+    // --- Phase 3: move survivors (each writes only its own head and tail cells) ---
+
+    private void moveRange(int from, int to) {
+        for (int s = from; s < to; s++) {
+            ate[s] = false;
+            if (!alive[s] || doomed[s]) continue;
+            int c = target[s];
+            pushHead(s, c);
+            if (food[c] != 0) {
+                food[c] = 0;
+                ate[s] = true;
+                scores[s] += SnakeSimulation.FOOD_SCORE;
+            } else {
+                popTail(s);
+            }
+        }
+    }
+
+    private void finishTick() {
+        for (int s = 0; s < snakeCount; s++) {
+            if (ate[s]) foodCount--;
+            if (alive[s] && doomed[s]) kill(s);
+        }
+        for (int s = 0; s < snakeCount; s++) {
+            // AI snakes come back; the player stays dead so the screen can show game over
+            if (!alive[s] && s != PLAYER) spawn(s);
+        }
+        fillFood();
+    }
+
+    /** A dead snake leaves food on every other segment. */
+    private void kill(int s) {
+        alive[s] = false;
+        aliveCount--;
+        deaths++;
+        int[] body = bodies[s];
+        int mask = body.length - 1;
+        for (int i = 0; i < lengths[s]; i++) {
+            int c = body[(heads[s] + i) & mask];
+            grid[c] = 0;
+            if ((i & 1) == 0 && food[c] == 0) {
+                food[c] = 1;
+                foodCount++;
+            }
+        }
+        lengths[s] = 0;
+    }
+
+    /** Places a fresh 3-long snake on a random empty row stretch; stays dead if none found. */
+    private void spawn(int s) {
+        for (int attempt = 0; attempt < RESPAWN_ATTEMPTS; attempt++) {
+            int x = (int) ((nextRandom(s) >>> 1) % (width - START_LENGTH + 1));
+            int y = (int) ((nextRandom(s) >>> 1) % height);
+            int base = y * width + x;
+            boolean free = true;
+            for (int i = 0; i < START_LENGTH && free; i++) {
+                free = grid[base + i] == 0 && food[base + i] == 0 && claimTick[base + i] != tick;
+            }
+            if (!free) continue;
+            lengths[s] = 0;
+            heads[s] = 0;
+            for (int i = 0; i < START_LENGTH; i++) pushHead(s, base + i);
+            directions[s] = SnakeSimulation.RIGHT;
+            if (s == PLAYER) playerTurns.reset(SnakeSimulation.RIGHT);
+            alive[s] = true;
+            aliveCount++;
+            return;
+        }
+    }
+
+    private void fillFood() {
+        int cells = width * height;
+        int attempts = targetFood * 2;
+        while (foodCount < targetFood && attempts-- > 0) {
+            arenaRng = xorshift(arenaRng);
+            int c = (int) ((arenaRng >>> 1) % cells);
+            if (grid[c] == 0 && food[c] == 0) {
+                food[c] = 1;
+                foodCount++;
+            }
+        }
+    }
+
+    private void pushHead(int s, int c) {
+        int[] body = bodies[s];
+        if (lengths[s] == body.length) {
+            body = grow(s);
+        }
+        heads[s] = (heads[s] - 1) & (body.length - 1);
+        body[heads[s]] = c;
+        grid[c] = s + 1;
+        lengths[s]++;
+    }
+
+    private void popTail(int s) {
+        int[] body = bodies[s];
+        int tail = body[(heads[s] + lengths[s] - 1) & (body.length - 1)];
+        grid[tail] = 0;
+        lengths[s]--;
+    }
+
+    private int[] grow(int s) {
+        int[] body = bodies[s];
+        int[] bigger = new int[body.length * 2];
+        int mask = body.length - 1;
+        for (int i = 0; i < lengths[s]; i++) bigger[i] = body[(heads[s] + i) & mask];
+        bodies[s] = bigger;
+        heads[s] = 0;
+        return bigger;
+    }
+
+    private long nextRandom(int s) {
+        return rng[s] = xorshift(rng[s]);
+    }
+
+    private static long xorshift(long x) {
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        return x;
+    }
+
+    // --- Queries ---
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    public int getSnakeCount() { return snakeCount; }
+
+    public int getAliveCount() { return aliveCount; }
+
+    public int getFoodCount() { return foodCount; }
+
+    public long getDeaths() { return deaths; }
+
+    public int getTick() { return tick; }
+
+    /** Snake id on the cell, or -1 if empty. */
+    public int ownerAt(int x, int y) {
+        return grid[y * width + x] - 1;
+    }
+
+    public boolean isFoodAt(int x, int y) {
+        return food[y * width + x] != 0;
+    }
+
+    public boolean isAlive(int s) { return alive[s]; }
+
+    public int getLength(int s) { return lengths[s]; }
+
+    public int getScore(int s) { return scores[s]; }
+
+    public int getDirection(int s) { return directions[s]; }
+
+    /** Packed cell of the head of snake s (y * width + x). */
+    public int getHeadCell(int s) {
+        return bodies[s][heads[s]];
+    }
+}
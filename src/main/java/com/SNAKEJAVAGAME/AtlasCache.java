@@ -0,0 +1,179 @@
+package com.SNAKEJAVAGAME;
+
+import com.badlogic.gdx.graphics.Color;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * A generated sprite atlas on disk, so later launches and theme switches skip the Pixmap
+ * rasterising and only upload a texture.
+ *
+ * Files are named by a key hashed from everything the sprites are generated from (see
+ * {@link #key}); a stale file simply never matches again. Like {@link SaveGame}, the file is
+ * a fixed binary layout read whole into a buffer and never mapped, so it can be replaced
+ * while the loaded atlas is still kept; the pixels are raw RGBA8888 that go into the
+ * Pixmap with one bulk copy.
+ * <pre>
+ *   int    MAGIC 'SNKA', int VERSION
+ *   long   key
+ *   int    width, height, regionCount
+ *          per region: short name length, UTF-8 name, int index, int x, y, width, height
+ *   byte   width * height * 4 pixels, RGBA8888, rows top to bottom
+ *   int    CRC32 of everything before it
+ * </pre>
+ */
+public class AtlasCache {
+
+    public static final int MAGIC = 0x534E4B41; // "SNKA"
+    public static final int VERSION = 1;
+
+    private final long key;
+    private final int width;
+    private final int height;
+    private final String[] names;
+    private final int[] indexes;
+    private final int[] rects;       // x, y, width, height per region
+    private final ByteBuffer pixels; // width * height * 4 bytes from position 0
+
+    public AtlasCache(long key, int width, int height, String[] names, int[] indexes, int[] rects, ByteBuffer pixels) {
+        if (pixels.remaining() != width * height * 4) throw new IllegalArgumentException("Pixel buffer does not match " + width + "x" + height);
+        this.key = key;
+        this.width = width;
+        this.height = height;
+        this.names = names;
+        this.indexes = indexes;
+        this.rects = rects;
+        this.pixels = pixels;
+    }
+
+    /** Hash of the generator version, the palette and any extra inputs (e.g. a custom sprite's size and date). */
+    public static long key(int generatorVersion, Color[] palette, long... extra) {
+        ByteBuffer buf = ByteBuffer.allocate(4 + palette.length * 4 + extra.length * 8);
+        buf.putInt(generatorVersion);
+        for (Color c : palette) buf.putInt(Color.rgba8888(c));
+        for (long e : extra) buf.putLong(e);
+        buf.flip();
+        CRC32 crc = new CRC32();
+        crc.update(buf);
+        return crc.getValue();
+    }
+
+    public static Path file(Path dir, long key) {
+        return dir.resolve(String.format("atlas-%08x.bin", key));
+    }
+
+    /** Writes the cache on the background thread. The pixel buffer must not be changed afterwards. */
+    public static Future<?> writeAsync(Path file, AtlasCache cache) {
+        return BackgroundWriter.submit(() -> {
+            try {
+                write(file, cache);
+            } catch (IOException e) {
+                System.err.println("Could not cache sprites: " + e.getMessage());
+            }
+        });
+    }
+
+    public static void write(Path file, AtlasCache cache) throws IOException {
+        byte[][] nameBytes = new byte[cache.names.length][];
+        int size = 4 * 2 + 8 + 4 * 3;
+        for (int i = 0; i < nameBytes.length; i++) {
+            nameBytes[i] = cache.names[i].getBytes(StandardCharsets.UTF_8);
+            size += 2 + nameBytes[i].length + 5 * 4;
+        }
+        size += cache.width * cache.height * 4 + 4;
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        buf.putInt(MAGIC).putInt(VERSION).putLong(cache.key);
+        buf.putInt(cache.width).putInt(cache.height).putInt(nameBytes.length);
+        for (int i = 0; i < nameBytes.length; i++) {
+            buf.putShort((short) nameBytes[i].length).put(nameBytes[i]).putInt(cache.indexes[i]);
+            buf.putInt(cache.rects[i * 4]).putInt(cache.rects[i * 4 + 1])
+                    .putInt(cache.rects[i * 4 + 2]).putInt(cache.rects[i * 4 + 3]);
+        }
+        buf.put(cache.pixels.duplicate());
+        buf.putInt(crc(buf, size - 4));
+        buf.flip();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        // Written beside the real name and moved over it, so a loader never reads a half-written file
+        Path partial = file.resolveSibling(file.getFileName() + ".part");
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) channel.write(buf);
+            channel.force(false);
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Reads the cache for key. The file is closed again before this returns. */
+    public static AtlasCache read(Path file, long key) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 4 * 2 + 8 + 4 * 3 + 4 || size > Integer.MAX_VALUE) throw new IOException("Not a sprite cache: " + file);
+            ByteBuffer buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining()) {
+                if (channel.read(buf) < 0) throw new IOException("Sprite cache is truncated: " + file);
+            }
+            buf.flip();
+            if (buf.getInt() != MAGIC) throw new IOException("Not a sprite cache: " + file);
+            int version = buf.getInt();
+            if (version != VERSION) throw new IOException("Unsupported sprite cache version " + version);
+            if (buf.getLong() != key) throw new IOException("Sprite cache is for other sprites: " + file);
+            if (buf.getInt((int) size - 4) != crc(buf, (int) size - 4)) throw new IOException("Sprite cache is corrupt: " + file);
+
+            int width = buf.getInt();
+            int height = buf.getInt();
+            int count = buf.getInt();
+            if (width <= 0 || height <= 0 || count < 0 || count > 4096) throw new IOException("Sprite cache is corrupt: " + file);
+            String[] names = new String[count];
+            int[] indexes = new int[count];
+            int[] rects = new int[count * 4];
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[buf.getShort() & 0xFFFF];
+                buf.get(name);
+                names[i] = new String(name, StandardCharsets.UTF_8);
+                indexes[i] = buf.getInt();
+                for (int k = 0; k < 4; k++) rects[i * 4 + k] = buf.getInt();
+            }
+            if (buf.position() + (long) width * height * 4 + 4 != size) throw new IOException("Sprite cache is corrupt: " + file);
+            ByteBuffer pixels = buf.slice(buf.position(), width * height * 4);
+            return new AtlasCache(key, width, height, names, indexes, rects, pixels);
+        }
+    }
+
+    private static int crc(ByteBuffer buf, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buf.duplicate().position(0).limit(length));
+        return (int) crc.getValue();
+    }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    public int getRegionCount() { return names.length; }
+
+    public String getName(int i) { return names[i]; }
+
+    /** Region index (the numeric suffix of names like snake_head_2), -1 if none. */
+    public int getIndex(int i) { return indexes[i]; }
+
+    public int getX(int i) { return rects[i * 4]; }
+
+    public int getY(int i) { return rects[i * 4 + 1]; }
+
+    public int getRegionWidth(int i) { return rects[i * 4 + 2]; }
+
+    public int getRegionHeight(int i) { return rects[i * 4 + 3]; }
+
+    /** Raw RGBA8888 pixels, a fresh view positioned at the first byte. */
+    public ByteBuffer getPixels() { return pixels.duplicate(); }
+}
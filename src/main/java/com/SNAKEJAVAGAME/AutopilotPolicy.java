@@ -0,0 +1,287 @@
+package com.SNAKEJAVAGAME;
+
+import java.util.Arrays;
+
+/**
+ * Autopilot - shortest path to the food, taken only if the snake could still reach its own
+ * tail after eating; otherwise it falls back to a Hamiltonian cycle over the board (or, when
+ * the cycle move is unsafe, the move that keeps the most room).
+ *
+ * All search state is preallocated per board size: int bucket queues, parent and cost
+ * links, and visited / virtual-body stamp arrays, so searching allocates nothing. A planned path stays
+ * valid while the food is unchanged - between ticks the board only changes at the head
+ * (which walks the path) and the tail (which frees cells) - so a full search only runs
+ * when the food moves or the plan is abandoned.
+ */
+public class AutopilotPolicy implements SnakePolicy {
+
+    private static final int RETRY_TICKS = 8;  // ticks between food searches while no safe path exists
+
+    private int width;
+    private int height;
+    private int[] queue = new int[0];       // open set buckets (f and f + 2)
+    private int[] queue2 = new int[0];
+    private int[] parent = new int[0];
+    private int[] cost = new int[0];        // path length from the search start
+    private int[] visited = new int[0];     // == visitStamp when seen in the current search
+    private int[] bodyMark = new int[0];    // == bodyStamp when blocked in the current virtual board
+    private int visitStamp;
+    private int bodyStamp;
+    private int[] cycleNext;                // next cell on a Hamiltonian cycle, null if the board has none
+
+    private int[] path = new int[0];        // planned cells, path[0] is the first step
+    private int pathLength;
+    private int pathPos;                    // next entry to walk
+    private int pathFood = -1;              // food cell the plan leads to
+    private int pathHead = -1;              // head cell expected before walking path[pathPos]
+
+    private int unsafeFood = -1;            // food with no safe path at the last search
+    private int retryIn;
+    private int lastReach;                  // cells expanded by the last search
+
+    @Override
+    public void reset(long seed) {
+        pathFood = -1;
+        unsafeFood = -1;
+    }
+
+    @Override
+    public int chooseTurn(SnakeSimulation sim) {
+        ensureBoard(sim);
+        int head = sim.cellAt(0);
+        int food = sim.getFoodCell();
+
+        int next = -1;
+        if (pathFood == food && food >= 0 && pathPos < pathLength && pathHead == head && !sim.isOccupied(path[pathPos])) {
+            next = path[pathPos];  // board only changed at head and tail - keep the plan
+        } else {
+            pathFood = -1;
+            if (food == unsafeFood && retryIn-- > 0) {
+                next = fallbackMove(sim, head);  // the board changed by one step - not worth a full search yet
+            } else if (food >= 0 && findPath(sim, head, food) && tailReachableAfter(sim, path, pathLength, true)) {
+                pathFood = food;
+                pathPos = 0;
+                unsafeFood = -1;
+                next = path[0];
+            } else {
+                unsafeFood = food;
+                retryIn = RETRY_TICKS;
+                next = fallbackMove(sim, head);
+            }
+        }
+        if (next < 0) return SnakeSimulation.NO_DIRECTION;  // boxed in - nothing helps
+        if (pathFood >= 0) {
+            pathPos++;
+            pathHead = next;
+        }
+        int dir = sim.dirFromTo(head, next);
+        return dir == sim.getDirection() ? SnakeSimulation.NO_DIRECTION : dir;
+    }
+
+    /**
+     * A* from start to target with the Manhattan heuristic. On a 4-connected grid every step
+     * changes f by 0 or +2, so the open set is just two buckets: the current f, used as a
+     * stack so ties run straight at the target, and f + 2. On an open board that expands
+     * little more than the path itself.
+     *
+     * Blocked cells are the real body, or with virtual set the cells marked with mark; then
+     * the target is the (still occupied) tail and must be entered from a cell other than
+     * start. Parent links lead back from target to start. Sets lastReach to the number of
+     * expanded cells, which is the whole reachable area when the search fails.
+     */
+    private boolean search(SnakeSimulation sim, int start, int target, boolean virtual, int mark) {
+        int stamp = nextVisitStamp();
+        int tx = target % width;
+        int ty = target / width;
+        int[] open = queue;
+        int[] later = queue2;
+        int openSize = 0;
+        int laterSize = 0;
+        visited[start] = stamp;
+        cost[start] = 0;
+        open[openSize++] = start;
+        int f = Math.abs(start % width - tx) + Math.abs(start / width - ty);
+        int expanded = 0;
+        while (true) {
+            if (openSize == 0) {
+                if (laterSize == 0) {
+                    lastReach = expanded;
+                    return false;
+                }
+                int[] swap = open;
+                open = later;
+                later = swap;
+                openSize = laterSize;
+                laterSize = 0;
+                f += 2;
+            }
+            int c = open[--openSize];
+            int x = c % width;
+            int y = c / width;
+            int g = cost[c];
+            if (g + Math.abs(x - tx) + Math.abs(y - ty) != f) continue;  // superseded by a shorter route
+            expanded++;
+            for (int dir = 0; dir < 4; dir++) {
+                int n = neighbor(x, y, dir);
+                if (n < 0) continue;
+                if (n == target) {
+                    if (virtual && c == start) continue;  // the tail has not moved off yet
+                    parent[n] = c;
+                    lastReach = expanded;
+                    return true;
+                }
+                if (virtual ? bodyMark[n] == mark : sim.isOccupied(n)) continue;
+                if (visited[n] == stamp && cost[n] <= g + 1) continue;
+                visited[n] = stamp;
+                cost[n] = g + 1;
+                parent[n] = c;
+                int nx = n % width;
+                int ny = n / width;
+                if (g + 1 + Math.abs(nx - tx) + Math.abs(ny - ty) == f) {
+                    open[openSize++] = n;
+                } else {
+                    later[laterSize++] = n;
+                }
+            }
+        }
+    }
+
+    /** Shortest path over free cells into path (head's successor .. target). */
+    private boolean findPath(SnakeSimulation sim, int head, int target) {
+        if (!search(sim, head, target, false, 0)) return false;
+        int len = 0;
+        for (int p = target; p != head; p = parent[p]) len++;
+        pathLength = len;
+        for (int p = target; p != head; p = parent[p]) path[--len] = p;
+        return true;
+    }
+
+    /**
+     * Could the head still reach the tail after walking the first steps cells of moves?
+     * Builds the virtual body (walked cells, then the front of the current body) in the
+     * body stamps and searches from the new head to the new tail.
+     */
+    private boolean tailReachableAfter(SnakeSimulation sim, int[] moves, int steps, boolean eats) {
+        int length = sim.length() + (eats ? 1 : 0);
+        if (length >= width * height) {
+            lastReach = 0;
+            return true;  // the board is full - nothing left to reach
+        }
+        int fromPath = Math.min(steps, length);
+        int fromBody = length - fromPath;
+        int mark = nextBodyStamp();
+        int tail;
+        if (fromBody > 0) {
+            for (int i = 0; i < fromPath; i++) bodyMark[moves[steps - 1 - i]] = mark;
+            for (int i = 0; i < fromBody - 1; i++) bodyMark[sim.cellAt(i)] = mark;
+            tail = sim.cellAt(fromBody - 1);
+        } else {
+            for (int i = 0; i < fromPath - 1; i++) bodyMark[moves[steps - 1 - i]] = mark;
+            tail = moves[steps - fromPath];
+        }
+        return search(sim, moves[steps - 1], tail, true, mark);
+    }
+
+    /**
+     * No safe food path: follow the cycle if that keeps the tail in reach, else any move that
+     * does (straight first), else the move into the largest open area.
+     */
+    private int fallbackMove(SnakeSimulation sim, int head) {
+        int food = sim.getFoodCell();
+        if (cycleNext != null) {
+            int n = cycleNext[head];
+            if (!sim.isOccupied(n)) {
+                path[0] = n;
+                if (tailReachableAfter(sim, path, 1, n == food)) return n;
+            }
+        }
+        int x = head % width;
+        int y = head / width;
+        int current = sim.getDirection();
+        int best = -1;
+        int bestArea = -1;
+        for (int turn = 0; turn < 4; turn++) {
+            int n = neighbor(x, y, (current + turn) & 3);
+            if (n < 0 || sim.isOccupied(n)) continue;
+            path[0] = n;
+            if (tailReachableAfter(sim, path, 1, n == food)) return n;
+            if (lastReach > bestArea) {
+                bestArea = lastReach;
+                best = n;
+            }
+        }
+        return best;
+    }
+
+    private int neighbor(int x, int y, int dir) {
+        int nx = x + SnakeSimulation.dx(dir);
+        int ny = y + SnakeSimulation.dy(dir);
+        if (nx < 0 || nx >= width || ny < 0 || ny >= height) return -1;
+        return ny * width + nx;
+    }
+
+    private int nextVisitStamp() {
+        if (++visitStamp == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            visitStamp = 1;
+        }
+        return visitStamp;
+    }
+
+    private int nextBodyStamp() {
+        if (++bodyStamp == Integer.MAX_VALUE) {
+            Arrays.fill(bodyMark, 0);
+            bodyStamp = 1;
+        }
+        return bodyStamp;
+    }
+
+    /** (Re)allocates the search buffers and the cycle when the board size changes. */
+    private void ensureBoard(SnakeSimulation sim) {
+        if (sim.getWidth() == width && sim.getHeight() == height) return;
+        width = sim.getWidth();
+        height = sim.getHeight();
+        int cells = width * height;
+        queue = new int[cells];
+        queue2 = new int[cells];
+        parent = new int[cells];
+        cost = new int[cells];
+        visited = new int[cells];
+        bodyMark = new int[cells];
+        path = new int[cells];
+        visitStamp = 0;
+        bodyStamp = 0;
+        pathFood = -1;
+        unsafeFood = -1;
+        cycleNext = buildCycle(width, height);
+    }
+
+    /**
+     * Hamiltonian cycle for a board with an even side: snake through the rows over columns
+     * 1..w-1, then return down column 0. Odd-by-odd boards have none (returns null).
+     */
+    static int[] buildCycle(int width, int height) {
+        boolean transpose = height % 2 != 0;
+        int rows = transpose ? width : height;
+        int cols = transpose ? height : width;
+        if (rows % 2 != 0 || cols < 2) return null;
+        int cells = width * height;
+        int[] order = new int[cells];
+        int k = 0;
+        for (int r = 0; r < rows; r++) {
+            if (r % 2 == 0) {
+                for (int c = 1; c < cols; c++) order[k++] = packed(r, c, width, transpose);
+            } else {
+                for (int c = cols - 1; c >= 1; c--) order[k++] = packed(r, c, width, transpose);
+            }
+        }
+        for (int r = rows - 1; r >= 0; r--) order[k++] = packed(r, 0, width, transpose);
+        int[] next = new int[cells];
+        for (int i = 0; i < cells; i++) next[order[i]] = order[(i + 1) % cells];
+        return next;
+    }
+
+    private static int packed(int row, int col, int width, boolean transpose) {
+        return transpose ? col * width + row : row * width + col;
+    }
+}
@@ -0,0 +1,40 @@
+package com.SNAKEJAVAGAME;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one background IO thread. Replays and save games hand their disk work here so the
+ * render thread never blocks on a file; tasks run in submission order, so a save followed
+ * by a delete of the same file always ends with the file gone.
+ */
+public final class BackgroundWriter {
+
+    private static final long SHUTDOWN_WAIT_MS = 2000;
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "background-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private BackgroundWriter() {}
+
+    public static Future<?> submit(Runnable task) {
+        return EXECUTOR.submit(task);
+    }
+
+    /**
+     * Waits (bounded) for everything submitted so far, for app exit - the thread is a
+     * daemon, so pending writes would otherwise be lost with the JVM.
+     */
+    public static void awaitIdle() {
+        try {
+            EXECUTOR.submit(() -> {}).get(SHUTDOWN_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            System.err.println("Background writes did not finish: " + e);
+        }
+    }
+}
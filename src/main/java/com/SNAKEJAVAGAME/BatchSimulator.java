@@ -0,0 +1,275 @@
+package com.SNAKEJAVAGAME;
+
+import java.io.PrintStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Headless batch runner - plays many independent games across all cores for balancing
+ * and bot evaluation. Work is split with fork/join; every worker thread owns a simulation,
+ * policy and statistics that all its leaves reuse, so the hot loop shares no mutable state
+ * and the statistics are merged once, after the run. Each game is seeded from (seed, game
+ * index), so results do not depend on the thread count.
+ */
+public class BatchSimulator {
+
+    /** Score histogram resolution - games eating more food than this land in the last bucket. */
+    static final int HISTOGRAM_SIZE = 4096;
+    private static final int GAMES_PER_LEAF = 256;
+
+    /** Command-line options for a batch run. */
+    public static class Options {
+        public int width = 20;
+        public int height = 20;
+        public long games = 100_000;
+        public long seed = 42;
+        public String policy = "greedy";
+        public int threads = Runtime.getRuntime().availableProcessors();
+        public long maxTicksWithoutFood = -1;  // -1 = 2 * board cells
+        public int arenaSnakes;                // > 0 = benchmark one arena instead of single games
+        public int arenaTicks = 1000;
+
+        public static Options parse(String[] args) {
+            Options o = new Options();
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--headless" -> {}
+                    case "--games" -> o.games = Long.parseLong(value(args, ++i));
+                    case "--seed" -> o.seed = Long.parseLong(value(args, ++i));
+                    case "--policy" -> o.policy = value(args, ++i);
+                    case "--threads" -> o.threads = Integer.parseInt(value(args, ++i));
+                    case "--width" -> o.width = Integer.parseInt(value(args, ++i));
+                    case "--height" -> o.height = Integer.parseInt(value(args, ++i));
+                    case "--size" -> o.width = o.height = Integer.parseInt(value(args, ++i));
+                    case "--starve" -> o.maxTicksWithoutFood = Long.parseLong(value(args, ++i));
+                    case "--arena" -> o.arenaSnakes = Integer.parseInt(value(args, ++i));
+                    case "--ticks" -> o.arenaTicks = Integer.parseInt(value(args, ++i));
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            SnakePolicy.forName(o.policy); // fail fast on a bad name
+            SnakeSimulation.checkSize(o.width, o.height);
+            if (o.games < 1 || o.threads < 1) throw new IllegalArgumentException("games and threads must be >= 1");
+            return o;
+        }
+
+        private static String value(String[] args, int i) {
+            if (i >= args.length) throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+            return args[i];
+        }
+
+        long starveLimit() {
+            return maxTicksWithoutFood > 0 ? maxTicksWithoutFood : 2L * width * height;
+        }
+    }
+
+    /** Aggregated results; one per worker thread, merged when the run is over. */
+    public static class Stats {
+        long games;
+        long ticks;
+        long cleared;
+        long starved;
+        long scoreSum;
+        int minScore = Integer.MAX_VALUE;
+        int maxScore;
+        final long[] foodHistogram = new long[HISTOGRAM_SIZE];
+
+        void addGame(int score, long ticks, boolean cleared, boolean starved) {
+            games++;
+            this.ticks += ticks;
+            if (cleared) this.cleared++;
+            if (starved) this.starved++;
+            scoreSum += score;
+            minScore = Math.min(minScore, score);
+            maxScore = Math.max(maxScore, score);
+            foodHistogram[Math.min(score / SnakeSimulation.FOOD_SCORE, HISTOGRAM_SIZE - 1)]++;
+        }
+
+        Stats merge(Stats other) {
+            games += other.games;
+            ticks += other.ticks;
+            cleared += other.cleared;
+            starved += other.starved;
+            scoreSum += other.scoreSum;
+            minScore = Math.min(minScore, other.minScore);
+            maxScore = Math.max(maxScore, other.maxScore);
+            for (int i = 0; i < HISTOGRAM_SIZE; i++) foodHistogram[i] += other.foodHistogram[i];
+            return this;
+        }
+
+        /** Score at the given quantile (0..1), from the food histogram. */
+        public int percentile(double q) {
+            long target = (long) Math.ceil(q * games);
+            long seen = 0;
+            for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+                seen += foodHistogram[i];
+                if (seen >= target && seen > 0) return i * SnakeSimulation.FOOD_SCORE;
+            }
+            return maxScore;
+        }
+
+        public long getGames() { return games; }
+
+        public long getTicks() { return ticks; }
+
+        public long getCleared() { return cleared; }
+
+        public long getStarved() { return starved; }
+
+        public int getMinScore() { return games == 0 ? 0 : minScore; }
+
+        public int getMaxScore() { return maxScore; }
+
+        public double getMeanScore() { return games == 0 ? 0 : (double) scoreSum / games; }
+    }
+
+    /** What one thread plays with; every leaf the thread runs adds to the same one. */
+    private static class Worker {
+        final SnakeSimulation sim;
+        final SnakePolicy policy;
+        final Stats stats = new Stats();
+
+        Worker(Options options) {
+            sim = new SnakeSimulation(options.width, options.height, 0L);
+            policy = SnakePolicy.forName(options.policy);
+        }
+    }
+
+    /** Plays games [from, to), splitting until the range is small enough. */
+    private static class GamesTask extends RecursiveAction {
+        private final Options options;
+        private final ThreadLocal<Worker> workers;
+        private final long from;
+        private final long to;
+
+        GamesTask(Options options, ThreadLocal<Worker> workers, long from, long to) {
+            this.options = options;
+            this.workers = workers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GAMES_PER_LEAF) {
+                long mid = (from + to) >>> 1;
+                invokeAll(new GamesTask(options, workers, from, mid), new GamesTask(options, workers, mid, to));
+                return;
+            }
+            Worker worker = workers.get();
+            long starveLimit = options.starveLimit();
+            for (long g = from; g < to; g++) {
+                playGame(worker.sim, worker.policy, gameSeed(options.seed, g), starveLimit, worker.stats);
+            }
+        }
+    }
+
+    static void playGame(SnakeSimulation sim, SnakePolicy policy, long seed, long starveLimit, Stats stats) {
+        sim.reset(seed);
+        policy.reset(seed);
+        long ticks = 0;
+        long sinceFood = 0;
+        boolean starved = false;
+        while (!sim.isGameOver()) {
+            int turn = policy.chooseTurn(sim);
+            if (turn != SnakeSimulation.NO_DIRECTION) sim.requestTurn(turn);
+            int result = sim.tick();
+            ticks++;
+            if (result == SnakeSimulation.TICK_ATE) {
+                sinceFood = 0;
+            } else if (++sinceFood > starveLimit) {
+                starved = true;  // bot is circling - stop instead of looping forever
+                break;
+            }
+        }
+        stats.addGame(sim.getScore(), ticks, sim.isCleared(), starved);
+    }
+
+    /** SplitMix64 finaliser - decorrelates neighbouring game indices. */
+    static long gameSeed(long seed, long game) {
+        long z = seed + (game + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public static Stats run(Options options) {
+        Queue<Worker> started = new ConcurrentLinkedQueue<>();
+        ThreadLocal<Worker> workers = ThreadLocal.withInitial(() -> {
+            Worker worker = new Worker(options);
+            started.add(worker);
+            return worker;
+        });
+        ForkJoinPool pool = new ForkJoinPool(options.threads);
+        try {
+            pool.invoke(new GamesTask(options, workers, 0, options.games));
+        } finally {
+            pool.shutdown();
+        }
+        Stats stats = new Stats();
+        for (Worker worker : started) stats.merge(worker.stats);
+        return stats;
+    }
+
+    public static void main(String[] args) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage(System.err);
+            System.exit(2);
+            return;
+        }
+
+        PrintStream out = System.out;
+        if (options.arenaSnakes > 0) {
+            runArena(options, out);
+            return;
+        }
+        out.printf("Headless batch: %d games, %dx%d, policy=%s, seed=%d, threads=%d%n",
+                options.games, options.width, options.height, options.policy, options.seed, options.threads);
+
+        long start = System.nanoTime();
+        Stats stats = run(options);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        out.printf("  elapsed  %.3f s%n", seconds);
+        out.printf("  ticks    %d (%.2f M ticks/s)%n", stats.ticks, stats.ticks / seconds / 1e6);
+        out.printf("  games    %d (%.0f games/s)%n", stats.games, stats.games / seconds);
+        out.printf("  score    min %d  mean %.1f  p50 %d  p90 %d  p99 %d  max %d%n",
+                stats.getMinScore(), stats.getMeanScore(), stats.percentile(0.5), stats.percentile(0.9),
+                stats.percentile(0.99), stats.getMaxScore());
+        out.printf("  cleared  %d  starved %d%n", stats.cleared, stats.starved);
+    }
+
+    /** Ticks one arena on a single pool of the requested size and reports snake-moves per second. */
+    static void runArena(Options options, PrintStream out) {
+        out.printf("Headless arena: %d snakes, %dx%d, %d ticks, seed=%d, threads=%d%n", options.arenaSnakes,
+                options.width, options.height, options.arenaTicks, options.seed, options.threads);
+        ArenaSimulation arena = new ArenaSimulation(options.width, options.height, options.arenaSnakes, options.seed);
+        ForkJoinPool pool = new ForkJoinPool(options.threads);
+        try {
+            long start = System.nanoTime();
+            pool.submit(() -> {
+                for (int t = 0; t < options.arenaTicks; t++) arena.tick();
+            }).join();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            out.printf("  elapsed  %.3f s%n", seconds);
+            out.printf("  ticks    %.0f ticks/s (%.2f M snake-moves/s)%n", options.arenaTicks / seconds,
+                    (double) options.arenaTicks * options.arenaSnakes / seconds / 1e6);
+            out.printf("  alive    %d  food %d  deaths %d%n", arena.getAliveCount(), arena.getFoodCount(),
+                    arena.getDeaths());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static void printUsage(PrintStream out) {
+        out.println("Usage: Main --headless [--games N] [--seed S] [--policy greedy|random|autopilot]");
+        out.println("                       [--threads T] [--size N | --width W --height H] [--starve TICKS]");
+        out.println("       Main --headless --arena SNAKES [--ticks N] [--size N] [--seed S] [--threads T]");
+    }
+}
@@ -0,0 +1,194 @@
+package com.SNAKEJAVAGAME;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.nio.IntBuffer;
+
+/**
+ * The parts of a board that never move - background and border, with the Neon glow -
+ * rendered once into an off-screen page and composited each frame.
+ *
+ * The board is cut into square chunks of {@link #CHUNK} screen pixels, rendered as they
+ * first come into view into slots of one frame buffer. A frame draws the visible chunks as
+ * quads from that single texture, so the layer costs one draw call however many chunks are
+ * on screen, and only chunks scrolling into view are rendered. The page has room for the
+ * view plus a spare row and column of slots; past that the least recently drawn chunk is
+ * reused. Everything is rendered again when the theme, board size or screen scale changes.
+ *
+ * Falls back to drawing the border directly when frame buffers are not available.
+ */
+public class BoardLayer implements Disposable {
+
+    /** Chunk side in texels, which are screen pixels at the current scale. */
+    static final int CHUNK = 256;
+
+    private final SnakeGame game;
+    private final Matrix4 projection = new Matrix4();
+    private final IntBuffer boundFramebuffer = BufferUtils.newIntBuffer(16);
+    private FrameBuffer page;
+    private boolean unavailable;  // a frame buffer could not be made; draw directly
+    private int slotsPerSide;
+    private ChunkSlots slots;
+    private int[] visible;     // slots composited this frame
+    private int visibleCount;
+
+    // what the page holds
+    private Theme theme;
+    private int gridWidth;
+    private int gridHeight;
+    private float chunkSize;   // world units per chunk
+
+    public BoardLayer(SnakeGame game) {
+        this.game = game;
+    }
+
+    /**
+     * Renders any chunk of the view rect that is not in the page yet. Call before the
+     * frame's batch.begin: it draws into the frame buffer with batch and resets the GL
+     * viewport, so apply the screen's viewport afterwards. Whatever frame buffer was bound
+     * is bound again after.
+     *
+     * @param pixelsPerUnit screen pixels per world unit
+     */
+    public void prepare(SpriteBatch batch, Theme theme, int gridWidth, int gridHeight,
+                        float left, float bottom, float width, float height, float pixelsPerUnit) {
+        visibleCount = 0;
+        if (unavailable || pixelsPerUnit <= 0) return;
+        float chunkSize = CHUNK / pixelsPerUnit;
+        if (theme != this.theme || gridWidth != this.gridWidth || gridHeight != this.gridHeight
+                || chunkSize != this.chunkSize) {
+            this.theme = theme;
+            this.gridWidth = gridWidth;
+            this.gridHeight = gridHeight;
+            this.chunkSize = chunkSize;
+            if (slots != null) slots.clear();
+        }
+
+        int minX = (int) Math.floor(left / chunkSize);
+        int minY = (int) Math.floor(bottom / chunkSize);
+        int maxX = (int) Math.floor((left + width) / chunkSize);
+        int maxY = (int) Math.floor((bottom + height) / chunkSize);
+        if (!ensurePage((int) Math.ceil(width / chunkSize) + 1, (int) Math.ceil(height / chunkSize) + 1)) return;
+
+        slots.nextFrame();
+        int rendered = 0;
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                int slot = slots.find(cx, cy);
+                if (slot < 0) {
+                    slot = slots.allocate(cx, cy);
+                    if (rendered++ == 0) {
+                        Gdx.gl.glGetIntegerv(GL20.GL_FRAMEBUFFER_BINDING, boundFramebuffer);
+                        page.begin();
+                    }
+                    render(batch, slot, cx, cy);
+                }
+                visible[visibleCount++] = slot;
+            }
+        }
+        if (rendered > 0) {
+            Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
+            page.end();
+            // end() binds the window's buffer, which is not always the one prepare was called under
+            Gdx.gl.glBindFramebuffer(GL20.GL_FRAMEBUFFER, boundFramebuffer.get(0));
+        }
+    }
+
+    /** Composites the chunks prepared for this frame, or draws the border when there is no page. */
+    public void draw(SpriteBatch batch, Theme theme, int gridWidth, int gridHeight) {
+        if (visibleCount == 0) {
+            drawStatic(batch, theme, gridWidth, gridHeight);
+            return;
+        }
+        Texture texture = page.getColorBufferTexture();
+        float step = 1f / slotsPerSide;
+        for (int i = 0; i < visibleCount; i++) {
+            int slot = visible[i];
+            float x = slots.chunkX(slot) * chunkSize;
+            float y = slots.chunkY(slot) * chunkSize;
+            float u = slot % slotsPerSide * step;
+            float v = slot / slotsPerSide * step;
+            // bottom row first; no page texel is a palette key, so the sprite shader draws it as is
+            batch.draw(texture, x, y, chunkSize, chunkSize, u, v, u + step, v + step);
+        }
+    }
+
+    /**
+     * A page with at least columns x rows slots and a spare row and column, made or grown
+     * as needed. False if frame buffers are not available.
+     */
+    private boolean ensurePage(int columns, int rows) {
+        int side = Math.max(columns, rows) + 1;
+        if (page != null && side <= slotsPerSide) return true;
+        if (page != null) page.dispose();
+        page = null;
+        try {
+            page = new FrameBuffer(Pixmap.Format.RGB888, side * CHUNK, side * CHUNK, false);
+        } catch (GdxRuntimeException e) {
+            System.err.println("Could not cache the board, drawing it every frame: " + e.getMessage());
+            unavailable = true;
+            return false;
+        }
+        // Chunks sit edge to edge in the page; nearest keeps a slot from sampling its neighbours
+        page.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        slotsPerSide = side;
+        slots = new ChunkSlots(side * side);
+        visible = new int[side * side];
+        return true;
+    }
+
+    /** Renders chunk cx, cy into slot; the page is bound. */
+    private void render(SpriteBatch batch, int slot, int cx, int cy) {
+        int x = slot % slotsPerSide * CHUNK;
+        int y = slot / slotsPerSide * CHUNK;
+        Gdx.gl.glViewport(x, y, CHUNK, CHUNK);
+        Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+        Gdx.gl.glScissor(x, y, CHUNK, CHUNK);
+        Gdx.gl.glClearColor(theme.getBackground().r, theme.getBackground().g, theme.getBackground().b, 1f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        projection.setToOrtho2D(cx * chunkSize, cy * chunkSize, chunkSize, chunkSize);
+        batch.setProjectionMatrix(projection);
+        batch.begin();
+        drawStatic(batch, theme, gridWidth, gridHeight);
+        batch.end();
+    }
+
+    /** Board border - theme colored (Neon gets a subtle glow). Whatever falls outside the target is clipped. */
+    private void drawStatic(SpriteBatch batch, Theme theme, int gridWidth, int gridHeight) {
+        TextureRegion line = game.getAssets().borderLine;
+        boolean isNeon = theme == Theme.NEON;
+        float w = gridWidth * SnakeRenderer.CELL_SIZE;
+        float h = gridHeight * SnakeRenderer.CELL_SIZE;
+        float border = isNeon ? 6f : 4f;
+        if (isNeon) {
+            batch.setColor(theme.getBorder().r, theme.getBorder().g, theme.getBorder().b, 0.3f);
+            float gb = border + 4;
+            batch.draw(line, -2, h - gb - 2, w + 4, gb + 4);
+            batch.draw(line, -2, -2, w + 4, gb + 4);
+            batch.draw(line, -2, -2, gb + 4, h + 4);
+            batch.draw(line, w - gb - 2, -2, gb + 4, h + 4);
+        }
+        batch.setColor(theme.getBorder());
+        batch.draw(line, 0, h - border, w, border);
+        batch.draw(line, 0, 0, w, border);
+        batch.draw(line, 0, 0, border, h);
+        batch.draw(line, w - border, 0, border, h);
+        batch.setColor(1, 1, 1, 1);
+    }
+
+    @Override
+    public void dispose() {
+        if (page != null) page.dispose();
+        page = null;
+    }
+}
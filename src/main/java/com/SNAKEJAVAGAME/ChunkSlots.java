@@ -0,0 +1,76 @@
+package com.SNAKEJAVAGAME;
+
+import java.util.Arrays;
+
+/**
+ * Which board chunk each slot of a {@link BoardLayer} page holds. A chunk not in the page
+ * goes to an empty slot, else to the one composited longest ago; a slot used this frame is
+ * never given away while the page has more slots than the view has chunks.
+ */
+class ChunkSlots {
+
+    private static final long FREE = Long.MIN_VALUE;
+
+    private final long[] chunks;  // packed chunk x, y per slot, FREE when empty
+    private final long[] drawn;   // frame the slot was last used
+    private long frame;
+
+    ChunkSlots(int count) {
+        chunks = new long[count];
+        drawn = new long[count];
+        Arrays.fill(chunks, FREE);
+    }
+
+    int size() {
+        return chunks.length;
+    }
+
+    /** Starts a frame; slots used before it can be reused. */
+    void nextFrame() {
+        frame++;
+    }
+
+    /** Forgets every chunk, for when what they show has changed. */
+    void clear() {
+        Arrays.fill(chunks, FREE);
+    }
+
+    /** The slot holding chunk cx, cy, marked used this frame; -1 if it is not in the page. */
+    int find(int cx, int cy) {
+        long chunk = pack(cx, cy);
+        for (int i = 0; i < chunks.length; i++) {
+            if (chunks[i] == chunk) {
+                drawn[i] = frame;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Gives chunk cx, cy a slot, marked used this frame; whatever the slot held is gone. */
+    int allocate(int cx, int cy) {
+        int slot = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            if (chunks[i] == FREE) {
+                slot = i;
+                break;
+            }
+            if (drawn[i] < drawn[slot]) slot = i;
+        }
+        chunks[slot] = pack(cx, cy);
+        drawn[slot] = frame;
+        return slot;
+    }
+
+    int chunkX(int slot) {
+        return (int) (chunks[slot] >> 32);
+    }
+
+    int chunkY(int slot) {
+        return (int) chunks[slot];
+    }
+
+    private static long pack(int cx, int cy) {
+        return (long) cx << 32 | (cy & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,58 @@
+package com.SNAKEJAVAGAME;
+
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * SpriteBatch shader for the distance-field font from {@link FontCache}.
+ *
+ * The texture's alpha is the distance to the glyph outline, 0.5 on the edge. The shader
+ * thresholds it there, blending over about one screen pixel worked out from the distance's
+ * own screen-space derivative, so the edge stays sharp at any scale without a smoothing
+ * uniform to set per draw.
+ */
+public class DistanceFieldShader implements Disposable {
+
+    private static final String FRAGMENT_SHADER = ""
+            + "#ifdef GL_ES\n"
+            + "#extension GL_OES_standard_derivatives : enable\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "void main() {\n"
+            + "    float distance = texture2D(u_texture, v_texCoords).a;\n"
+            + "    float width = 0.7 * length(vec2(dFdx(distance), dFdy(distance)));\n"
+            + "    float alpha = smoothstep(0.5 - width, 0.5 + width, distance);\n"
+            + "    gl_FragColor = vec4(v_color.rgb, v_color.a * alpha);\n"
+            + "}\n";
+
+    private ShaderProgram shader;
+
+    public DistanceFieldShader() {
+        ShaderProgram program = new ShaderProgram(PaletteShader.VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!program.isCompiled()) {
+            System.err.println("Distance field shader failed, using the bitmap font: " + program.getLog());
+            program.dispose();
+            return;
+        }
+        shader = program;
+    }
+
+    /** True when the shader compiled; otherwise the distance-field font cannot be drawn. */
+    public boolean isActive() {
+        return shader != null;
+    }
+
+    /** The program to hand to SpriteBatch.setShader, null when inactive. */
+    public ShaderProgram getProgram() {
+        return shader;
+    }
+
+    @Override
+    public void dispose() {
+        if (shader != null) shader.dispose();
+        shader = null;
+    }
+}
@@ -0,0 +1,67 @@
+package com.SNAKEJAVAGAME;
+
+/**
+ * Fixed-timestep scheduler - turns variable frame deltas into whole simulation ticks.
+ * Keeps the remainder between frames so game speed is exact at any frame rate, runs
+ * several ticks per frame to catch up after a hitch (up to a cap), and exposes the
+ * leftover fraction as an interpolation alpha for rendering.
+ */
+public class FixedStepClock {
+
+    public static final int DEFAULT_MAX_STEPS_PER_FRAME = 8;
+
+    private double step;
+    private final int maxStepsPerFrame;
+    private double accumulator;
+
+    public FixedStepClock(float step) {
+        this(step, DEFAULT_MAX_STEPS_PER_FRAME);
+    }
+
+    public FixedStepClock(float step, int maxStepsPerFrame) {
+        this.step = step;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /**
+     * Adds frame time and returns how many ticks to run this frame.
+     * Time beyond the catch-up cap is dropped (the game slows down instead of spiralling).
+     */
+    public int advance(float delta) {
+        accumulator += delta;
+        int steps = (int) (accumulator / step);
+        if (steps > maxStepsPerFrame) {
+            accumulator -= (steps - maxStepsPerFrame) * step;
+            steps = maxStepsPerFrame;
+        }
+        accumulator -= steps * step;
+        return steps;
+    }
+
+    /** Fraction of the next tick already elapsed, in [0, 1). Use to interpolate between ticks. */
+    public float alpha() {
+        return (float) (accumulator / step);
+    }
+
+    public void reset() {
+        accumulator = 0;
+    }
+
+    public float getStep() {
+        return (float) step;
+    }
+
+    public void setStep(float step) {
+        // Keep the same fraction of a tick so a speed change doesn't jump the interpolation
+        accumulator = accumulator / this.step * step;
+        this.step = step;
+    }
+
+    public float getAccumulator() {
+        return (float) accumulator;
+    }
+
+    public void setAccumulator(float accumulator) {
+        this.accumulator = accumulator;
+    }
+}
@@ -0,0 +1,191 @@
+package com.SNAKEJAVAGAME;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+
+/**
+ * The HUD font as a signed distance field, generated once and kept on disk so any text
+ * scale is sharp from one small texture.
+ *
+ * Printable ASCII is rasterised large with AWT; each glyph's alpha then becomes its
+ * distance to the outline, 0.5 on the edge and fading out over {@link #SPREAD} pixels,
+ * which {@link DistanceFieldShader} thresholds at whatever size the text is drawn. The
+ * result is written as a standard BMFont text file and PNG page, so libGDX's own
+ * BitmapFont loads it. Like {@link AtlasCache}, files are named by a key over every
+ * generator input, and a stale file simply never matches again.
+ */
+public class FontCache {
+
+    public static final int VERSION = 1;
+    /** Size the glyphs are rasterised at, in pixels. */
+    public static final int RENDER_SIZE = 48;
+    /** Pixels of distance encoded on each side of an outline; also the glyph padding. */
+    public static final int SPREAD = 6;
+    /** Size of libGDX's default font, which every on-screen text scale was tuned for. */
+    public static final float NOMINAL_SIZE = 15;
+    private static final String FACE = Font.SANS_SERIF;
+    private static final char FIRST_CHAR = ' ';
+    private static final char LAST_CHAR = '~';
+    private static final int PAGE_WIDTH = 512;
+
+    /** Hash of everything the font is generated from. */
+    public static long key() {
+        CRC32 crc = new CRC32();
+        crc.update((VERSION + "|" + FACE + "|" + RENDER_SIZE + "|" + SPREAD + "|" + FIRST_CHAR + LAST_CHAR)
+                .getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    public static Path file(Path dir, long key) {
+        return dir.resolve(String.format("font-%08x.fnt", key));
+    }
+
+    /** The cached font's .fnt file in dir, generating it first when it is missing. */
+    public static Path ensure(Path dir) throws IOException {
+        Path fnt = file(dir, key());
+        if (!Files.exists(fnt)) generate(fnt);
+        return fnt;
+    }
+
+    /**
+     * Rasterises the font and writes fnt and its PNG page beside it. Each file is written
+     * under a temporary name and moved into place, the .fnt last, so a reader that finds
+     * the .fnt always finds a complete page.
+     */
+    public static void generate(Path fnt) throws IOException {
+        // Only off-screen images are drawn; headless keeps AWT from starting a toolkit next to GLFW
+        if (System.getProperty("java.awt.headless") == null) System.setProperty("java.awt.headless", "true");
+        Font font = new Font(FACE, Font.PLAIN, RENDER_SIZE);
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D measure = scratch.createGraphics();
+        measure.setFont(font);
+        int ascent = measure.getFontMetrics().getAscent();
+        int lineHeight = measure.getFontMetrics().getHeight();
+        measure.dispose();
+        FontRenderContext frc = new FontRenderContext(null, true, true);
+
+        int count = LAST_CHAR - FIRST_CHAR + 1;
+        int[] rects = new int[count * 7];  // x, y, width, height, xoffset, yoffset, xadvance per glyph
+        int[][] fields = new int[count][];
+        int x = 0, y = 0, rowHeight = 0;
+        for (int i = 0; i < count; i++) {
+            GlyphVector glyph = font.createGlyphVector(frc, String.valueOf((char) (FIRST_CHAR + i)));
+            Rectangle bounds = glyph.getPixelBounds(frc, 0, 0);
+            int advance = Math.round(glyph.getGlyphMetrics(0).getAdvanceX());
+            int width = 0, height = 0;
+            if (!bounds.isEmpty()) {
+                width = bounds.width + 2 * SPREAD;
+                height = bounds.height + 2 * SPREAD;
+                fields[i] = distanceField(rasterise(glyph, bounds, width, height), width, height, SPREAD);
+                if (x + width > PAGE_WIDTH) {
+                    x = 0;
+                    y += rowHeight;
+                    rowHeight = 0;
+                }
+            }
+            int r = i * 7;
+            rects[r] = x;
+            rects[r + 1] = y;
+            rects[r + 2] = width;
+            rects[r + 3] = height;
+            rects[r + 4] = bounds.x - SPREAD;
+            rects[r + 5] = ascent + bounds.y - SPREAD;  // from the line top to the padded glyph's top
+            rects[r + 6] = advance;
+            x += width;
+            rowHeight = Math.max(rowHeight, height);
+        }
+
+        int pageHeight = Integer.highestOneBit(Math.max(1, y + rowHeight) * 2 - 1);
+        BufferedImage page = new BufferedImage(PAGE_WIDTH, pageHeight, BufferedImage.TYPE_INT_ARGB);
+        for (int i = 0; i < count; i++) {
+            if (fields[i] == null) continue;
+            int r = i * 7;
+            int[] field = fields[i];
+            for (int k = 0; k < field.length; k++) field[k] = field[k] << 24 | 0xFFFFFF;  // white, distance in alpha
+            page.setRGB(rects[r], rects[r + 1], rects[r + 2], rects[r + 3], field, 0, rects[r + 2]);
+        }
+
+        Files.createDirectories(fnt.toAbsolutePath().getParent());
+        String pageName = fnt.getFileName().toString().replaceFirst("\\.fnt$", "") + ".png";
+        Path png = fnt.resolveSibling(pageName);
+        Path partialPng = png.resolveSibling(pageName + ".part");
+        if (!ImageIO.write(page, "png", partialPng.toFile())) throw new IOException("No PNG writer for " + png);
+        Files.move(partialPng, png, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Path partialFnt = fnt.resolveSibling(fnt.getFileName() + ".part");
+        try (Writer out = Files.newBufferedWriter(partialFnt, StandardCharsets.UTF_8)) {
+            out.write(String.format("info face=\"%s\" size=%d bold=0 italic=0 charset=\"\" unicode=1 stretchH=100 "
+                    + "smooth=1 aa=1 padding=%d,%d,%d,%d spacing=0,0%n", FACE, RENDER_SIZE, SPREAD, SPREAD, SPREAD, SPREAD));
+            out.write(String.format("common lineHeight=%d base=%d scaleW=%d scaleH=%d pages=1 packed=0%n",
+                    lineHeight, ascent, PAGE_WIDTH, pageHeight));
+            out.write(String.format("page id=0 file=\"%s\"%n", pageName));
+            out.write(String.format("chars count=%d%n", count));
+            for (int i = 0; i < count; i++) {
+                int r = i * 7;
+                out.write(String.format("char id=%d x=%d y=%d width=%d height=%d xoffset=%d yoffset=%d xadvance=%d "
+                        + "page=0 chnl=15%n", FIRST_CHAR + i, rects[r], rects[r + 1], rects[r + 2], rects[r + 3],
+                        rects[r + 4], rects[r + 5], rects[r + 6]));
+            }
+        }
+        Files.move(partialFnt, fnt, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** The glyph's coverage as an inside/outside mask, with SPREAD pixels of margin all round. */
+    private static boolean[] rasterise(GlyphVector glyph, Rectangle bounds, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.drawGlyphVector(glyph, SPREAD - bounds.x, SPREAD - bounds.y);
+        g.dispose();
+        Raster raster = image.getRaster();
+        boolean[] inside = new boolean[width * height];
+        for (int py = 0; py < height; py++) {
+            for (int px = 0; px < width; px++) inside[py * width + px] = raster.getSample(px, py, 0) >= 128;
+        }
+        return inside;
+    }
+
+    /**
+     * Signed distance from each pixel of the mask to the nearest pixel on the other side of
+     * the outline, mapped to 0-255: 128 on the edge, 255 at spread pixels inside, 0 at
+     * spread pixels outside.
+     */
+    static int[] distanceField(boolean[] inside, int width, int height, int spread) {
+        int[] field = new int[width * height];
+        int reach = spread + 1;
+        for (int py = 0; py < height; py++) {
+            for (int px = 0; px < width; px++) {
+                boolean in = inside[py * width + px];
+                int best = reach * reach;
+                for (int dy = -reach; dy <= reach; dy++) {
+                    int sy = py + dy;
+                    if (sy < 0 || sy >= height || dy * dy >= best) continue;
+                    for (int dx = -reach; dx <= reach; dx++) {
+                        int sx = px + dx;
+                        int d2 = dx * dx + dy * dy;
+                        if (sx >= 0 && sx < width && d2 < best && inside[sy * width + sx] != in) best = d2;
+                    }
+                }
+                float distance = (float) Math.sqrt(best) - 0.5f;  // the edge lies between the two pixel centres
+                float signed = in ? distance : -distance;
+                field[py * width + px] = Math.max(0, Math.min(255, Math.round(128 + signed * 127 / spread)));
+            }
+        }
+        return field;
+    }
+}
@@ -1,85 +1,490 @@
 package com.SNAKEJAVAGAME;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.OrderedMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Loads custom sprites from assets/ folder when present, otherwise generates them.
  * Put PNG files (32x32) in the assets/ folder: food.png, snake_body.png, etc.
+ *
+ * Every sprite is packed into one atlas texture and exposed as a region of it, so a game
+ * frame draws the board, snake, food and border without a single texture switch. The
+ * packed atlas is cached on disk ({@link AtlasCache}), so after the first run a launch is
+ * one file read and one texture upload.
+ *
+ * The atlas is the same for every theme. Sprites coloured by the theme are stored as index
+ * maps into a small palette region with one row per theme, and {@link PaletteShader}
+ * colours them as they are drawn, so switching themes is a uniform change. Without the
+ * shader the pages are recoloured on the CPU instead.
+ *
+ * Loading runs in two phases. {@link #request} does the CPU work on a small worker pool -
+ * the cache read, or rasterising every sprite in parallel, decoding food.png and packing -
+ * and produces plain pixel buffers. {@link #update}, called once a frame on the render
+ * thread, uploads them one atlas page per frame and then swaps the whole sprite set in at
+ * once; until then no sprites are available.
  */
 public class GameAssets {
 
     public static final int TILE_SIZE = 32;
-
-    public Texture gridCell;
-    public Texture snakeBody;
-    public Texture[] snakeCorner; // 0=UP_RIGHT, 1=RIGHT_DOWN, 2=DOWN_LEFT, 3=LEFT_UP
-    public Texture[] snakeHead;  // 0=UP, 1=RIGHT, 2=DOWN, 3=LEFT
-    public Texture[] snakeTail;  // 0=UP, 1=RIGHT, 2=DOWN, 3=LEFT (direction tail points)
-    public Texture food;
-    public Texture overlay;  // Semi-transparent for game over
-    public Texture buttonBg;  // For menu buttons
-    public Texture borderLine;  // Bright green line for play area border
-    public Texture particleTex;  // For particle effects
-    public Texture glowTex;  // Soft glow for Neon theme
+    public static final String CACHE_DIR = "cache";
+    private static final int ATLAS_PAGE_SIZE = 512;
+    private static final int GENERATOR_VERSION = 2;  // bump whenever a sprite generator changes
+    private static final String FOOD_FILE = "food.png";
+    private static final String PALETTE = "palette";
+    private static final int MAX_PALETTE_SLOTS = 256;
+    private static final Pattern INDEXED_NAME = Pattern.compile("(.+)_(\\d+)$");  // as PixmapPacker parses it
+
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)), r -> {
+                Thread t = new Thread(r, "asset-worker");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private TextureAtlas atlas;
+    private AtlasCache[] pages;  // the atlas's pixels, kept for baking themes without the shader
+    private final Array<Texture> pageTextures = new Array<>();  // uploaded so far; owned by atlas once swapped in
+    private CompletableFuture<AtlasCache[]> pending;  // CPU phase, until its pages are swapped in
+    private PaletteShader paletteShader;
+    private Theme theme = Theme.CLASSIC;
+    private boolean themeChanged;
+
+    public TextureRegion gridCell;
+    public TextureRegion snakeBody;
+    public TextureRegion[] snakeCorner; // 0=UP_RIGHT, 1=RIGHT_DOWN, 2=DOWN_LEFT, 3=LEFT_UP
+    public TextureRegion[] snakeHead;  // 0=UP, 1=RIGHT, 2=DOWN, 3=LEFT
+    public TextureRegion[] snakeTail;  // 0=UP, 1=RIGHT, 2=DOWN, 3=LEFT (direction tail points)
+    public TextureRegion food;
+    public TextureRegion overlay;  // Semi-transparent for game over
+    public TextureRegion buttonBg;  // For menu buttons
+    public TextureRegion borderLine;  // Bright green line for play area border
+    public TextureRegion particleTex;  // For particle effects
+    public TextureRegion glowTex;  // Soft glow for Neon theme
 
     public void load() {
         load(Theme.CLASSIC);
     }
 
+    /** Loads the sprites in theme's colours and blocks until they are in use. */
     public void load(Theme theme) {
-        disposeGameTextures();
-        gridCell = createGridCell();
-        snakeBody = createSnakeBody(theme);
-        snakeCorner = createSnakeCorners(theme);
-        snakeHead = createSnakeHeads(theme);
-        snakeTail = createSnakeTails(theme);
-        food = loadTexture("food.png", () -> createFood(theme));
-        overlay = createOverlay();
-        buttonBg = createButtonBg();
-        borderLine = createBorderLine();
-        particleTex = createParticleTexture();
-        glowTex = createGlowTexture();
-    }
-
-    private void disposeGameTextures() {
-        if (snakeBody != null) { snakeBody.dispose(); snakeBody = null; }
-        if (snakeCorner != null) { for (Texture t : snakeCorner) t.dispose(); snakeCorner = null; }
-        if (snakeHead != null) { for (Texture t : snakeHead) t.dispose(); snakeHead = null; }
-        if (snakeTail != null) { for (Texture t : snakeTail) t.dispose(); snakeTail = null; }
-        if (food != null) { food.dispose(); food = null; }
-    }
-
-    /** Load from assets/ if file exists, otherwise use generator. */
-    private Texture loadTexture(String path, java.util.function.Supplier<Texture> fallback) {
+        request(theme);
+        finishLoading();
+    }
+
+    /**
+     * Switches the sprites to theme's colours, starting the background load first if
+     * nothing is loaded yet. Takes effect at the next {@link #update}.
+     */
+    public void request(Theme theme) {
+        if (theme != this.theme) {
+            this.theme = theme;
+            themeChanged = true;
+        }
+        if (atlas == null && pending == null) pending = prepare();
+    }
+
+    /**
+     * GL phase, once a frame on the render thread: uploads at most one finished atlas page,
+     * swaps the sprites in once every page is up, and applies a theme change.
+     */
+    public void update() {
+        if (pending != null && pending.isDone()) uploadNextPage();
+        if (themeChanged && atlas != null) applyTheme();
+    }
+
+    private void uploadNextPage() {
+        AtlasCache[] loaded;
+        try {
+            loaded = pending.join();
+        } catch (RuntimeException e) {
+            System.err.println("Could not load sprites: " + (e.getCause() != null ? e.getCause() : e));
+            cancelPending();
+            return;
+        }
+        if (paletteShader == null) paletteShader = new PaletteShader();
+        if (pageTextures.size < loaded.length) pageTextures.add(upload(loaded[pageTextures.size]));
+        if (pageTextures.size < loaded.length) return;
+
+        TextureAtlas packed = new TextureAtlas();
+        for (int p = 0; p < loaded.length; p++) {
+            AtlasCache page = loaded[p];
+            for (int i = 0; i < page.getRegionCount(); i++) {
+                packed.addRegion(page.getName(i), pageTextures.get(p), page.getX(i), page.getY(i),
+                        page.getRegionWidth(i), page.getRegionHeight(i)).index = page.getIndex(i);
+            }
+        }
+        pending = null;
+        pages = loaded;
+        swap(packed);
+        themeChanged = true;
+    }
+
+    /** Blocks until the requested sprites are in use. */
+    public void finishLoading() {
+        while (pending != null) {
+            try {
+                pending.join();
+            } catch (RuntimeException e) {
+                // update reports it
+            }
+            update();
+        }
+        update();
+    }
+
+    /** True once a sprite set is in use; screens draw nothing that needs sprites before that. */
+    public boolean isLoaded() {
+        return atlas != null;
+    }
+
+    /** True while the sprites are still being prepared or uploaded. */
+    public boolean isLoading() {
+        return pending != null;
+    }
+
+    /**
+     * The shader the sprites must be drawn with (pass it to SpriteBatch.setShader), or null
+     * when the default shader will do because themes are baked into the pixels.
+     */
+    public ShaderProgram getSpriteShader() {
+        return paletteShader != null ? paletteShader.getProgram() : null;
+    }
+
+    private void swap(TextureAtlas loaded) {
+        if (atlas != null) atlas.dispose();
+        atlas = loaded;
+
+        gridCell = atlas.findRegion("grid_cell");
+        snakeBody = atlas.findRegion("snake_body");
+        snakeCorner = regions("snake_corner");
+        snakeHead = regions("snake_head");
+        snakeTail = regions("snake_tail");
+        food = atlas.findRegion("food");
+        overlay = atlas.findRegion("overlay");
+        buttonBg = atlas.findRegion("button_bg");
+        borderLine = atlas.findRegion("border_line");
+        particleTex = atlas.findRegion("particle");
+        glowTex = atlas.findRegion("glow");
+    }
+
+    /** Points the shader at the theme's palette row, or recolours the pages in place without it. */
+    private void applyTheme() {
+        themeChanged = false;
+        if (paletteShader.isActive()) {
+            TextureRegion palette = atlas.findRegion(PALETTE);
+            if (palette != null) paletteShader.setPalette(palette, theme.ordinal());
+            return;
+        }
+        for (int p = 0; p < pages.length; p++) {
+            Pixmap baked = bake(pages[p], theme.ordinal());
+            pageTextures.get(p).draw(baked, 0, 0);
+            baked.dispose();
+        }
+    }
+
+    private void cancelPending() {
+        if (pending != null) pending.cancel(false);  // the workers finish anyway; the buffers are just dropped
+        pending = null;
+        for (Texture t : pageTextures) t.dispose();
+        pageTextures.clear();
+    }
+
+    private Texture upload(AtlasCache page) {
+        Pixmap pix = paletteShader.isActive() ? pixmap(page) : bake(page, theme.ordinal());
+        Texture texture = new Texture(pix);
+        texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        pix.dispose();
+        return texture;
+    }
+
+    private static Pixmap pixmap(AtlasCache page) {
+        Pixmap pix = new Pixmap(page.getWidth(), page.getHeight(), Pixmap.Format.RGBA8888);
+        pix.getPixels().duplicate().put(page.getPixels());
+        return pix;
+    }
+
+    /** The page with every index-map texel replaced by its colour in row of the page's palette. */
+    static Pixmap bake(AtlasCache page, int row) {
+        Pixmap pix = pixmap(page);
+        int region = -1;
+        for (int i = 0; i < page.getRegionCount(); i++) {
+            if (page.getName(i).equals(PALETTE)) region = i;
+        }
+        if (region < 0) return pix;
+        IntBuffer texels = pix.getPixels().duplicate().order(ByteOrder.BIG_ENDIAN).asIntBuffer();
+        int[] colors = new int[page.getRegionWidth(region)];
+        for (int slot = 0; slot < colors.length; slot++) {
+            colors[slot] = texels.get((page.getY(region) + row) * page.getWidth() + page.getX(region) + slot);
+        }
+        for (int i = 0; i < texels.limit(); i++) {
+            int c = texels.get(i);
+            if (isIndexTexel(c) && (c >>> 24) < colors.length) texels.put(i, colors[c >>> 24]);
+        }
+        return pix;
+    }
+
+    /** Index-map texels are (slot, 0, 255, 255); see {@link PaletteShader}. */
+    private static int indexTexel(int slot) {
+        return slot << 24 | 0xFF << 8 | 0xFF;
+    }
+
+    private static boolean isIndexTexel(int rgba) {
+        return (rgba & 0x00FFFFFF) == 0xFFFF;
+    }
+
+    /** CPU phase: the cached atlas if there is one, otherwise every sprite generated and packed. */
+    private CompletableFuture<AtlasCache[]> prepare() {
+        return CompletableFuture.supplyAsync(() -> {
+            long key = cacheKey();
+            Path cacheFile = AtlasCache.file(Gdx.files.local(CACHE_DIR).file().toPath(), key);
+            AtlasCache cached = Files.exists(cacheFile) ? readCached(cacheFile, key) : null;
+            return cached != null ? CompletableFuture.completedFuture(new AtlasCache[] {cached})
+                    : generate(cacheFile, key);
+        }, WORKERS).thenCompose(pages -> pages);
+    }
+
+    /** Everything the sprites depend on: generator version, every theme's palette and a custom food.png. */
+    private static long cacheKey() {
+        Theme[] themes = Theme.values();
+        Color[] palette = new Color[themes.length * 4];
+        for (int i = 0; i < themes.length; i++) {
+            palette[i * 4] = themes[i].getSnakeBase();
+            palette[i * 4 + 1] = themes[i].getSnakeHighlight();
+            palette[i * 4 + 2] = themes[i].getSnakeShadow();
+            palette[i * 4 + 3] = themes[i].getFood();
+        }
+        FileHandle customFood = Gdx.files.internal(FOOD_FILE);
+        if (!customFood.exists()) return AtlasCache.key(GENERATOR_VERSION, palette);
+        return AtlasCache.key(GENERATOR_VERSION, palette, customFood.length(), customFood.lastModified());
+    }
+
+    /** The cached atlas, or null if the cache is unreadable. */
+    private static AtlasCache readCached(Path file, long key) {
+        try {
+            return AtlasCache.read(file, key);
+        } catch (IOException e) {
+            System.err.println("Ignoring sprite cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Rasterises every sprite as its own worker task - themed ones once per theme - then
+     * turns the themed ones into index maps, packs everything in a fixed order and caches
+     * the result in the background.
+     */
+    private CompletableFuture<AtlasCache[]> generate(Path cacheFile, long key) {
+        Theme[] themes = Theme.values();
+        List<String> names = new ArrayList<>();
+        List<CompletableFuture<Pixmap>[]> sprites = new ArrayList<>();
+        raster(names, sprites, "grid_cell", this::createGridCell);
+        themed(names, sprites, "snake_body", this::createSnakeBody);
+        for (int i = 0; i < 4; i++) {
+            int index = i;
+            themed(names, sprites, "snake_corner_" + i, theme -> createSnakeCorner(index, theme));
+            themed(names, sprites, "snake_head_" + i, theme -> createSnakeHead(index, theme));
+            themed(names, sprites, "snake_tail_" + i, theme -> createSnakeTail(index, theme));
+        }
+        if (Gdx.files.internal(FOOD_FILE).exists()) {
+            raster(names, sprites, "food", () -> loadPixmap(FOOD_FILE, () -> createFood(themes[0])));
+        } else {
+            themed(names, sprites, "food", this::createFood);
+        }
+        raster(names, sprites, "overlay", this::createOverlay);
+        raster(names, sprites, "button_bg", this::createButtonBg);
+        raster(names, sprites, "border_line", this::createBorderLine);
+        raster(names, sprites, "particle", this::createParticle);
+        raster(names, sprites, "glow", this::createGlow);
+
+        CompletableFuture<?>[] all = sprites.stream().flatMap(Arrays::stream).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(all).handleAsync((done, error) -> {
+            // padding plus duplicated edges keep linear filtering from bleeding between sprites
+            PixmapPacker packer = new PixmapPacker(ATLAS_PAGE_SIZE, ATLAS_PAGE_SIZE, Pixmap.Format.RGBA8888, 2, true);
+            List<Pixmap> indexMaps = new ArrayList<>();
+            try {
+                Map<IntBuffer, Integer> slots = new LinkedHashMap<>();
+                for (CompletableFuture<Pixmap>[] variants : sprites) {
+                    indexMaps.add(variants.length > 1 ? indexMap(variants, slots) : markerFree(variants[0].join()));
+                }
+                // first, so it shares a page with the themed sprites whatever size a custom food is
+                Pixmap palette = createPalette(slots, themes.length);
+                indexMaps.add(palette);
+                packer.pack(PALETTE, palette);
+                for (int i = 0; i < names.size(); i++) packer.pack(names.get(i), indexMaps.get(i));
+                AtlasCache[] pages = pages(packer, key);
+                if (pages.length == 1) AtlasCache.writeAsync(cacheFile, pages[0]);  // an oversized custom sprite spills onto more pages - not cached
+                return pages;
+            } finally {
+                for (Pixmap pix : indexMaps) pix.dispose();
+                for (CompletableFuture<?> sprite : all) {
+                    if (!sprite.isCompletedExceptionally()) ((Pixmap) sprite.join()).dispose();
+                }
+                packer.dispose();
+            }
+        }, WORKERS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void raster(List<String> names, List<CompletableFuture<Pixmap>[]> sprites, String name, Supplier<Pixmap> sprite) {
+        names.add(name);
+        sprites.add(new CompletableFuture[] {CompletableFuture.supplyAsync(sprite, WORKERS)});
+    }
+
+    /** A sprite coloured by the theme: rasterised once per theme, in Theme order. */
+    @SuppressWarnings("unchecked")
+    private static void themed(List<String> names, List<CompletableFuture<Pixmap>[]> sprites, String name, Function<Theme, Pixmap> sprite) {
+        Theme[] themes = Theme.values();
+        CompletableFuture<Pixmap>[] variants = new CompletableFuture[themes.length];
+        for (int t = 0; t < themes.length; t++) {
+            Theme theme = themes[t];
+            variants[t] = CompletableFuture.supplyAsync(() -> sprite.apply(theme), WORKERS);
+        }
+        names.add(name);
+        sprites.add(variants);
+    }
+
+    /**
+     * Replaces a sprite's per-theme renderings with one index map: each distinct combination
+     * of per-theme colours becomes a palette slot, so baking a theme's row gives back exactly
+     * that theme's rendering.
+     */
+    private static Pixmap indexMap(CompletableFuture<Pixmap>[] variants, Map<IntBuffer, Integer> slots) {
+        Pixmap first = variants[0].join();
+        Pixmap map = new Pixmap(first.getWidth(), first.getHeight(), Pixmap.Format.RGBA8888);
+        map.setBlending(Pixmap.Blending.None);
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                int[] colors = new int[variants.length];
+                for (int t = 0; t < colors.length; t++) colors[t] = variants[t].join().getPixel(x, y);
+                Integer slot = slots.get(IntBuffer.wrap(colors));  // IntBuffers compare by content
+                if (slot == null) {
+                    if (slots.size() == MAX_PALETTE_SLOTS) throw new IllegalStateException("Themed sprites use more than " + MAX_PALETTE_SLOTS + " colours");
+                    slot = slots.size();
+                    slots.put(IntBuffer.wrap(colors), slot);
+                }
+                map.drawPixel(x, y, indexTexel(slot));
+            }
+        }
+        return map;
+    }
+
+    /** The palette region: one row per theme, one column per slot. */
+    private static Pixmap createPalette(Map<IntBuffer, Integer> slots, int themes) {
+        Pixmap pix = new Pixmap(Math.max(1, slots.size()), themes, Pixmap.Format.RGBA8888);
+        pix.setBlending(Pixmap.Blending.None);
+        for (Map.Entry<IntBuffer, Integer> slot : slots.entrySet()) {
+            for (int t = 0; t < themes; t++) pix.drawPixel(slot.getValue(), t, slot.getKey().get(t));
+        }
+        return pix;
+    }
+
+    /** A copy of a plain sprite with any texel that would read as an index nudged off the marker colour. */
+    private static Pixmap markerFree(Pixmap sprite) {
+        Pixmap copy = new Pixmap(sprite.getWidth(), sprite.getHeight(), Pixmap.Format.RGBA8888);
+        copy.setBlending(Pixmap.Blending.None);
+        copy.drawPixmap(sprite, 0, 0);
+        for (int y = 0; y < copy.getHeight(); y++) {
+            for (int x = 0; x < copy.getWidth(); x++) {
+                int c = copy.getPixel(x, y);
+                if (isIndexTexel(c | 0xFF)) copy.drawPixel(x, y, c ^ 0x100);  // blue 255 -> 254
+            }
+        }
+        return copy;
+    }
+
+    /** Copies the packed pages out of the packer, with regions named the way TextureAtlas would. */
+    private static AtlasCache[] pages(PixmapPacker packer, long key) {
+        Array<PixmapPacker.Page> packed = packer.getPages();
+        AtlasCache[] pages = new AtlasCache[packed.size];
+        for (int p = 0; p < packed.size; p++) {
+            Pixmap image = packed.get(p).getPixmap();
+            ByteBuffer pixels = ByteBuffer.allocate(image.getWidth() * image.getHeight() * 4);
+            pixels.put(image.getPixels().duplicate()).flip();
+            OrderedMap<String, PixmapPacker.PixmapPackerRectangle> rects = packed.get(p).getRects();
+            String[] names = new String[rects.size];
+            int[] indexes = new int[rects.size];
+            int[] bounds = new int[rects.size * 4];
+            for (int i = 0; i < rects.size; i++) {
+                String name = rects.orderedKeys().get(i);
+                Rectangle r = rects.get(name);
+                Matcher indexed = INDEXED_NAME.matcher(name);
+                names[i] = indexed.matches() ? indexed.group(1) : name;
+                indexes[i] = indexed.matches() ? Integer.parseInt(indexed.group(2)) : -1;
+                bounds[i * 4] = (int) r.x;
+                bounds[i * 4 + 1] = (int) r.y;
+                bounds[i * 4 + 2] = (int) r.width;
+                bounds[i * 4 + 3] = (int) r.height;
+            }
+            pages[p] = new AtlasCache(key, image.getWidth(), image.getHeight(), names, indexes, bounds, pixels);
+        }
+        return pages;
+    }
+
+    /** The four sprites packed as name_0..name_3 (the packer stores the suffix as a region index). */
+    private TextureRegion[] regions(String name) {
+        TextureRegion[] regions = new TextureRegion[4];
+        for (int i = 0; i < 4; i++) regions[i] = atlas.findRegion(name, i);
+        return regions;
+    }
+
+    /** Load from assets/ if file exists (and decodes), otherwise use generator. */
+    private Pixmap loadPixmap(String path, Supplier<Pixmap> fallback) {
         if (Gdx.files.internal(path).exists()) {
-            Texture tex = new Texture(Gdx.files.internal(path));
-            tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-            return tex;
+            try {
+                return new Pixmap(Gdx.files.internal(path));
+            } catch (GdxRuntimeException e) {
+                System.err.println("Could not read " + path + ": " + e.getMessage());
+            }
         }
         return fallback.get();
     }
 
+    /** Number of atlas pages (textures) in use - 1 unless custom sprites overflow a page. */
+    public int getTextureCount() {
+        return atlas == null ? 0 : atlas.getTextures().size;
+    }
+
     public void dispose() {
-        if (gridCell != null) gridCell.dispose();
-        if (snakeBody != null) snakeBody.dispose();
-        if (snakeHead != null) {
-            for (Texture t : snakeHead) t.dispose();
-        }
-        if (snakeTail != null) {
-            for (Texture t : snakeTail) t.dispose();
-        }
-        if (food != null) food.dispose();
-        if (overlay != null) overlay.dispose();
-        if (buttonBg != null) buttonBg.dispose();
-        if (borderLine != null) borderLine.dispose();
-        if (particleTex != null) particleTex.dispose();
-        if (glowTex != null) glowTex.dispose();
+        cancelPending();
+        if (atlas != null) atlas.dispose();
+        atlas = null;
+        pages = null;
+        pageTextures.clear();
+        if (paletteShader != null) paletteShader.dispose();
+        paletteShader = null;
     }
 
-    private Texture createGlowTexture() {
+    private Pixmap createGlow() {
         int size = 64;
         int cx = size / 2;
         Pixmap pix = new Pixmap(size, size, Pixmap.Format.RGBA8888);
@@ -90,53 +495,38 @@ public class GameAssets {
             pix.setColor(1f, 1f, 1f, alpha);
             pix.fillCircle(cx, cx, r);
         }
-        Texture tex = new Texture(pix);
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        pix.dispose();
-        return tex;
+        return pix;
     }
 
-    private Texture createParticleTexture() {
+    private Pixmap createParticle() {
         Pixmap pix = new Pixmap(4, 4, Pixmap.Format.RGBA8888);
         pix.setColor(new Color(1f, 1f, 1f, 1f));
         pix.fill();
-        Texture tex = new Texture(pix);
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        pix.dispose();
-        return tex;
+        return pix;
     }
 
-    private Texture createBorderLine() {
+    private Pixmap createBorderLine() {
         Pixmap pix = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
         pix.setColor(new Color(1f, 1f, 1f, 1f));  // White - tinted by theme
         pix.fill();
-        Texture tex = new Texture(pix);
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        pix.dispose();
-        return tex;
+        return pix;
     }
 
-    private Texture createButtonBg() {
+    private Pixmap createButtonBg() {
         Pixmap pix = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
         pix.setColor(new Color(0.2f, 0.5f, 0.3f, 1f));
         pix.fill();
-        Texture tex = new Texture(pix);
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        pix.dispose();
-        return tex;
+        return pix;
     }
 
-    private Texture createOverlay() {
+    private Pixmap createOverlay() {
         Pixmap pix = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
         pix.setColor(new Color(0.05f, 0.08f, 0.05f, 0.75f));
         pix.fill();
-        Texture tex = new Texture(pix);
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        pix.dispose();
-        return tex;
+        return pix;
     }
 
-    private Texture createGridCell() {
+    private Pixmap createGridCell() {
         int size = TILE_SIZE;
         Pixmap pix = new Pixmap(size, size, Pixmap.Format.RGBA8888);
 
@@ -149,10 +539,7 @@ public class GameAssets {
         pix.drawRectangle(0, 0, size, 1);
         pix.drawRectangle(size - 1, 0, 1, size);
 
-        Texture tex = new Texture(pix);
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        pix.dispose();
-        return tex;
+        return pix;
     }
 
     /** Draws a rounded rectangle (scale-like segment shape). */
@@ -166,7 +553,7 @@ public class GameAssets {
         pix.fillCircle(x + w - r - 1, y + h - r - 1, r);
     }
 
-    private Texture createSnakeBody(Theme theme) {
+    private Pixmap createSnakeBody(Theme theme) {
         int size = TILE_SIZE;
         Pixmap pix = new Pixmap(size, size, Pixmap.Format.RGBA8888);
         pix.setColor(new Color(0, 0, 0, 0));
@@ -182,23 +569,14 @@ public class GameAssets {
         pix.setColor(theme.getSnakeShadow());
         pix.fillRectangle(14, 0, 18, 18);
 
-        Texture tex = new Texture(pix);
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        pix.dispose();
-        return tex;
-    }
-
-    private Texture[] createSnakeCorners(Theme theme) {
-        Texture[] corners = new Texture[4];
-        for (int i = 0; i < 4; i++) corners[i] = createSnakeCorner(i, theme);
-        return corners;
+        return pix;
     }
 
     /**
      * Corner indices:
      * 0 = UP+RIGHT, 1 = RIGHT+DOWN, 2 = DOWN+LEFT, 3 = LEFT+UP
      */
-    private Texture createSnakeCorner(int cornerIndex, Theme theme) {
+    private Pixmap createSnakeCorner(int cornerIndex, Theme theme) {
         int size = TILE_SIZE;
         Pixmap pix = new Pixmap(size, size, Pixmap.Format.RGBA8888);
         pix.setColor(0, 0, 0, 0);
@@ -226,21 +604,10 @@ public class GameAssets {
         pix.setColor(theme.getSnakeShadow());
         pix.fillCircle(outerX, outerY, r);
 
-        Texture tex = new Texture(pix);
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        pix.dispose();
-        return tex;
-    }
-
-    private Texture[] createSnakeHeads(Theme theme) {
-        Texture[] heads = new Texture[4];
-        for (int dir = 0; dir < 4; dir++) {
-            heads[dir] = createSnakeHead(dir, theme);
-        }
-        return heads;
+        return pix;
     }
 
-    private Texture createSnakeHead(int direction, Theme theme) {
+    private Pixmap createSnakeHead(int direction, Theme theme) {
         int size = TILE_SIZE;
         int cx = size / 2, cy = size / 2;
         Pixmap pix = new Pixmap(size, size, Pixmap.Format.RGBA8888);
@@ -272,21 +639,10 @@ public class GameAssets {
             case 3 -> { pix.fillRectangle(cx - 8, cy + 4, 2, 2); pix.fillRectangle(cx - 8, cy - 6, 2, 2); }
         }
 
-        Texture tex = new Texture(pix);
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        pix.dispose();
-        return tex;
-    }
-
-    private Texture[] createSnakeTails(Theme theme) {
-        Texture[] tails = new Texture[4];
-        for (int dir = 0; dir < 4; dir++) {
-            tails[dir] = createSnakeTail(dir, theme);
-        }
-        return tails;
+        return pix;
     }
 
-    private Texture createSnakeTail(int direction, Theme theme) {
+    private Pixmap createSnakeTail(int direction, Theme theme) {
         int size = TILE_SIZE;
         Pixmap pix = new Pixmap(size, size, Pixmap.Format.RGBA8888);
         pix.setColor(new Color(0, 0, 0, 0));
@@ -302,13 +658,10 @@ public class GameAssets {
         pix.setColor(theme.getSnakeShadow());
         pix.fillRectangle(16, 0, 16, 18);
 
-        Texture tex = new Texture(pix);
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        pix.dispose();
-        return tex;
+        return pix;
     }
 
-    private Texture createFood(Theme theme) {
+    private Pixmap createFood(Theme theme) {
         int size = TILE_SIZE;
         int pad = 3;
         int r = 8;
@@ -323,9 +676,6 @@ public class GameAssets {
         pix.setColor(new Color(foodColor.r + 0.3f, foodColor.g + 0.3f, foodColor.b + 0.3f, 0.6f));
         pix.fillRectangle(6, 8, 10, 6);
 
-        Texture tex = new Texture(pix);
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        pix.dispose();
-        return tex;
+        return pix;
     }
 }
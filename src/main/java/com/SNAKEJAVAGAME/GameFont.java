@@ -1,65 +1,303 @@
 package com.SNAKEJAVAGAME;
 
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Game-style font rendering with shadow for a polished look.
+ *
+ * Text is laid out once into a {@link BitmapFontCache} per distinct string and scale and
+ * kept for as long as it keeps being drawn; a frame that draws the same labels as the last
+ * one only recolours and moves the cached glyph quads. The shadow is the same glyph run drawn
+ * again at an offset, so a label is never laid out more than once. The least recently drawn
+ * label is rebuilt when the cache is full.
+ *
+ * The game shares one instance ({@link #createShared}) drawing the distance-field font from
+ * {@link FontCache}, so text is sharp at every scale and no screen loads a font of its own.
+ * Scales stay those of libGDX's default font, which the screens were laid out with. On the
+ * first launch the font is generated in the background and swapped in by {@link #update};
+ * text uses libGDX's default font until then.
+ *
+ * The distance-field font needs its own shader, and switching a batch's shader flushes it.
+ * Screens draw their text in passes between {@link #beginText} and {@link #endText}, after
+ * the sprites it sits on, so a pass of labels costs one switch there and one back. A label
+ * drawn outside a pass switches on its own.
  */
-public class GameFont {
+public class GameFont implements Disposable {
+
+    // HUD text colours, shared so drawing text allocates nothing - do not modify
+    public static final Color TEXT = new Color(0.95f, 0.95f, 0.9f, 1f);
+    public static final Color TEXT_LIGHT = new Color(0.9f, 0.9f, 0.85f, 1f);
+    public static final Color TEXT_DIM = new Color(0.8f, 0.8f, 0.75f, 1f);
+    public static final Color TEXT_SAGE = new Color(0.6f, 0.8f, 0.6f, 1f);
+    public static final Color GREEN = new Color(0.3f, 0.9f, 0.4f, 1f);
+    public static final Color RED = new Color(0.95f, 0.2f, 0.2f, 1f);
+    public static final Color GOLD = new Color(1f, 0.85f, 0.2f, 1f);
 
-    private final BitmapFont font;
-    private final GlyphLayout layout;
+    private static final Color SHADOW = new Color(0.05f, 0.05f, 0.08f, 0.8f);
     private static final float SHADOW_OFFSET = 2f;
+    private static final int MAX_LABELS = 64;
+
+    private BitmapFont font;
+    private DistanceFieldShader shader;  // null for a plain bitmap font
+    private float baseScale = 1;         // font units per unit of setScale
+    private float scale = 1;
+    private CompletableFuture<Path> pending;  // first-launch generation of the distance-field font
+    private final Label[] labels = new Label[MAX_LABELS];
+    private int labelCount;
+    private long draws;      // stamps labels for least-recently-drawn eviction
+    private long rebuilds;
+    private ShaderProgram spriteShader;  // put back by endText
+    private boolean inText;
 
     public GameFont(BitmapFont font) {
         this.font = font;
-        this.layout = new GlyphLayout();
+    }
+
+    /**
+     * The distance-field font from cacheDir. When it has not been generated yet this starts
+     * with libGDX's default font and generates it in the background; keep calling
+     * {@link #update}. Stays on the default font if it cannot be made or drawn.
+     */
+    public static GameFont createShared(Path cacheDir) {
+        GameFont gameFont = new GameFont(new BitmapFont());
+        Path fnt = FontCache.file(cacheDir, FontCache.key());
+        if (Files.exists(fnt)) {
+            gameFont.load(fnt);
+        } else {
+            gameFont.pending = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return FontCache.ensure(cacheDir);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return gameFont;
+    }
+
+    /** Swaps in the distance-field font once its background generation is done. Render thread only. */
+    public void update() {
+        if (pending == null || !pending.isDone()) return;
+        try {
+            load(pending.join());
+        } catch (CompletionException e) {
+            System.err.println("Could not generate the distance field font: " + e.getCause().getMessage());
+        }
+        pending = null;
+    }
+
+    private void load(Path fnt) {
+        DistanceFieldShader sdfShader = new DistanceFieldShader();
+        if (!sdfShader.isActive()) return;
+        BitmapFont sdfFont;
+        try {
+            sdfFont = new BitmapFont(new FileHandle(fnt.toFile()));
+        } catch (GdxRuntimeException e) {
+            System.err.println("Could not load the distance field font: " + e.getMessage());
+            sdfShader.dispose();
+            return;
+        }
+        for (TextureRegion page : sdfFont.getRegions()) {
+            page.getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        }
+        sdfFont.setUseIntegerPositions(false);  // snapping would shake scaled text
+        font.dispose();
+        font = sdfFont;
+        shader = sdfShader;
+        baseScale = FontCache.NOMINAL_SIZE / FontCache.RENDER_SIZE;
+        labelCount = 0;  // laid out with the old font
+        Arrays.fill(labels, null);
+        setScale(scale);
     }
 
     public void setScale(float scale) {
-        font.getData().setScale(scale);
+        this.scale = scale;
+        font.getData().setScale(scale * baseScale);
+    }
+
+    /**
+     * Starts a pass of text: switches batch to the font's shader until {@link #endText}.
+     * Draw no sprites in between.
+     */
+    public void beginText(SpriteBatch batch) {
+        if (inText) return;
+        inText = true;
+        spriteShader = useShader(batch);
+    }
+
+    /** Ends the pass of text, putting back the batch's shader. */
+    public void endText(SpriteBatch batch) {
+        if (!inText) return;
+        inText = false;
+        restoreShader(batch, spriteShader);
+        spriteShader = null;
     }
 
     /** Draw text with a subtle shadow for depth. */
     public void drawWithShadow(SpriteBatch batch, CharSequence str, float x, float y) {
-        layout.setText(font, str);
-        font.setColor(0.05f, 0.05f, 0.08f, 0.8f);
-        font.draw(batch, str, x + SHADOW_OFFSET, y - SHADOW_OFFSET);
-        font.setColor(Color.WHITE);
-        font.draw(batch, str, x, y);
+        drawShadowed(batch, label(str), x, y, Color.WHITE, SHADOW.r, SHADOW.g, SHADOW.b);
     }
 
     /** Draw text with shadow and custom color. */
     public void drawWithShadow(SpriteBatch batch, CharSequence str, float x, float y, Color color) {
-        layout.setText(font, str);
-        font.setColor(color.r * 0.3f, color.g * 0.3f, color.b * 0.3f, 0.8f);
-        font.draw(batch, str, x + SHADOW_OFFSET, y - SHADOW_OFFSET);
-        font.setColor(color);
-        font.draw(batch, str, x, y);
+        drawShadowed(batch, label(str), x, y, color, color.r * 0.3f, color.g * 0.3f, color.b * 0.3f);
     }
 
     /** Draw centered text with shadow. */
     public void drawCenteredWithShadow(SpriteBatch batch, CharSequence str, float centerX, float y) {
-        layout.setText(font, str);
-        float x = centerX - layout.width / 2;
-        drawWithShadow(batch, str, x, y);
+        Label label = label(str);
+        drawShadowed(batch, label, centerX - label.width / 2, y, Color.WHITE, SHADOW.r, SHADOW.g, SHADOW.b);
     }
 
     /** Draw centered text with shadow and color. */
     public void drawCenteredWithShadow(SpriteBatch batch, CharSequence str, float centerX, float y, Color color) {
-        layout.setText(font, str);
-        float x = centerX - layout.width / 2;
-        drawWithShadow(batch, str, x, y, color);
+        Label label = label(str);
+        drawShadowed(batch, label, centerX - label.width / 2, y, color,
+                color.r * 0.3f, color.g * 0.3f, color.b * 0.3f);
+    }
+
+    /** Draw text without a shadow. */
+    public void draw(SpriteBatch batch, CharSequence str, float x, float y, Color color) {
+        draw(batch, label(str), x, y, color);
+    }
+
+    /** Draw centered text without a shadow. */
+    public void drawCentered(SpriteBatch batch, CharSequence str, float centerX, float y, Color color) {
+        Label label = label(str);
+        draw(batch, label, centerX - label.width / 2, y, color);
+    }
+
+    /** Width of str at the current scale, from the same cached layout it is drawn with. */
+    public float getWidth(CharSequence str) {
+        return label(str).width;
+    }
+
+    /** Cap height of str at the current scale, from the same cached layout it is drawn with. */
+    public float getHeight(CharSequence str) {
+        return label(str).height;
+    }
+
+    /** The label's one glyph run, drawn darkened at the shadow offset and then in color on top. */
+    private void drawShadowed(SpriteBatch batch, Label label, float x, float y, Color color,
+                              float shadowR, float shadowG, float shadowB) {
+        ShaderProgram previous = inText ? null : useShader(batch);
+        label.cache.setColors(shadowR, shadowG, shadowB, SHADOW.a);
+        label.cache.setPosition(x + SHADOW_OFFSET, y - SHADOW_OFFSET);
+        label.cache.draw(batch);
+        label.cache.setColors(color);
+        label.cache.setPosition(x, y);
+        label.cache.draw(batch);
+        if (!inText) restoreShader(batch, previous);
+    }
+
+    private void draw(SpriteBatch batch, Label label, float x, float y, Color color) {
+        ShaderProgram previous = inText ? null : useShader(batch);
+        label.cache.setColors(color);
+        label.cache.setPosition(x, y);
+        label.cache.draw(batch);
+        if (!inText) restoreShader(batch, previous);
+    }
+
+    /** Switches the batch to the distance-field shader, returning the one to put back. */
+    private ShaderProgram useShader(SpriteBatch batch) {
+        if (shader == null) return null;
+        ShaderProgram previous = batch.getShader();
+        batch.setShader(shader.getProgram());
+        return previous;
+    }
+
+    private void restoreShader(SpriteBatch batch, ShaderProgram previous) {
+        if (shader != null) batch.setShader(previous);
+    }
+
+    /** The cached label for str at the current scale, laid out now if it is not cached. */
+    private Label label(CharSequence str) {
+        float scale = font.getData().scaleX;
+        int hash = hash(str, scale);
+        Label oldest = null;
+        for (int i = 0; i < labelCount; i++) {
+            Label label = labels[i];
+            if (label.hash == hash && label.scale == scale && contentEquals(label.text, str)) {
+                label.lastDrawn = ++draws;
+                return label;
+            }
+            if (oldest == null || label.lastDrawn < oldest.lastDrawn) oldest = label;
+        }
+        Label label = labelCount < MAX_LABELS ? labels[labelCount++] = new Label(font) : oldest;
+        label.hash = hash;
+        label.scale = scale;
+        label.text.setLength(0);
+        label.text.append(str);
+        label.cache.clear();
+        GlyphLayout glyphs = label.cache.addText(str, 0, 0);
+        label.width = glyphs.width;
+        label.height = glyphs.height;
+        label.lastDrawn = ++draws;
+        rebuilds++;
+        return label;
+    }
+
+    private static int hash(CharSequence str, float scale) {
+        int h = Float.floatToIntBits(scale);
+        for (int i = 0, n = str.length(); i < n; i++) h = 31 * h + str.charAt(i);
+        return h;
+    }
+
+    private static boolean contentEquals(StringBuilder a, CharSequence b) {
+        int n = a.length();
+        if (n != b.length()) return false;
+        for (int i = 0; i < n; i++) {
+            if (a.charAt(i) != b.charAt(i)) return false;
+        }
+        return true;
     }
 
-    public GlyphLayout getLayout() {
-        return layout;
+    /** Text laid out since construction; stays flat while a screen redraws the same labels. */
+    public long getRebuildCount() {
+        return rebuilds;
     }
 
     public BitmapFont getFont() {
         return font;
     }
+
+    @Override
+    public void dispose() {
+        if (pending != null) pending.cancel(false);
+        font.dispose();
+        if (shader != null) shader.dispose();
+    }
+
+    /** One laid-out string: its glyph quads and the key they were built for. */
+    private static final class Label {
+        final StringBuilder text = new StringBuilder();
+        final BitmapFontCache cache;
+        int hash;
+        float scale;
+        float width;
+        float height;
+        long lastDrawn;
+
+        Label(BitmapFont font) {
+            cache = new BitmapFontCache(font, font.usesIntegerPositions());
+        }
+    }
 }
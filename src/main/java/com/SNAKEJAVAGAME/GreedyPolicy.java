@@ -0,0 +1,30 @@
+package com.SNAKEJAVAGAME;
+
+/**
+ * Heads straight for the food, only avoiding moves that crash on the next tick.
+ */
+public class GreedyPolicy implements SnakePolicy {
+
+    @Override
+    public int chooseTurn(SnakeSimulation sim) {
+        if (!sim.hasFood()) return SnakeSimulation.NO_DIRECTION;
+        int hx = sim.xAt(0);
+        int hy = sim.yAt(0);
+        int fx = sim.getFoodX();
+        int fy = sim.getFoodY();
+        int current = sim.getDirection();
+
+        int best = SnakeSimulation.NO_DIRECTION;
+        int bestDist = Integer.MAX_VALUE;
+        for (int dir = 0; dir < 4; dir++) {
+            if (SnakeSimulation.isOpposite(dir, current) || sim.wouldCrash(dir)) continue;
+            int dist = Math.abs(hx + SnakeSimulation.dx(dir) - fx) + Math.abs(hy + SnakeSimulation.dy(dir) - fy);
+            // Prefer going straight on ties - fewer turns, fewer self-traps
+            if (dist < bestDist || (dist == bestDist && dir == current)) {
+                best = dir;
+                bestDist = dist;
+            }
+        }
+        return best == current ? SnakeSimulation.NO_DIRECTION : best;
+    }
+}
@@ -2,14 +2,64 @@ package com.SNAKEJAVAGAME;
 
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+import org.lwjgl.glfw.GLFW;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--headless")) {
+            BatchSimulator.main(args);
+            return;
+        }
+
         Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
         config.setForegroundFPS(60);
         config.setTitle("Snake");
         config.setWindowedMode(640, 640);
+        // GL 3.2 core for instanced particles where the driver has it; --gl20 forces the legacy context
+        if (!hasFlag(args, "--gl20")) {
+            if (supportsGL32Core()) {
+                config.setOpenGLEmulation(Lwjgl3ApplicationConfiguration.GLEmulation.GL30, 3, 2);
+                // the core profile rejects GLSL 1.10, so lift LibGDX's built-in shaders to 1.50
+                ShaderProgram.prependVertexCode = "#version 150\n#define attribute in\n#define varying out\n";
+                ShaderProgram.prependFragmentCode = "#version 150\n#define varying in\n#define texture2D texture\n"
+                        + "#define gl_FragColor fragColor\nout vec4 fragColor;\n";
+            } else {
+                System.err.println("OpenGL 3.2 core is not available, using OpenGL 2.0");
+            }
+        }
 
         new Lwjgl3Application(new SnakeGame(), config);
     }
-}
\ No newline at end of file
+
+    private static boolean hasFlag(String[] args, String flag) {
+        for (String arg : args) {
+            if (arg.equals(flag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whether the driver can make the GL 3.2 core context, tried with a hidden window so a
+     * machine without one (old integrated or software GL) starts on GL 2.0 instead of failing.
+     */
+    private static boolean supportsGL32Core() {
+        if (!GLFW.glfwInit()) return false;
+        try {
+            GLFW.glfwDefaultWindowHints();
+            GLFW.glfwWindowHint(GLFW.GLFW_VISIBLE, GLFW.GLFW_FALSE);
+            GLFW.glfwWindowHint(GLFW.GLFW_CONTEXT_VERSION_MAJOR, 3);
+            GLFW.glfwWindowHint(GLFW.GLFW_CONTEXT_VERSION_MINOR, 2);
+            GLFW.glfwWindowHint(GLFW.GLFW_OPENGL_FORWARD_COMPAT, GLFW.GLFW_TRUE);
+            GLFW.glfwWindowHint(GLFW.GLFW_OPENGL_PROFILE, GLFW.GLFW_OPENGL_CORE_PROFILE);
+            long window = GLFW.glfwCreateWindow(1, 1, "", 0, 0);
+            if (window == 0) return false;
+            GLFW.glfwDestroyWindow(window);
+            return true;
+        } finally {
+            GLFW.glfwDefaultWindowHints();
+            GLFW.glfwTerminate();  // Lwjgl3Application initialises GLFW again itself
+        }
+    }
+}
@@ -4,22 +4,19 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector3;
 
 /**
- * Main menu - Start Game, Options, Exit.
+ * Main menu - Start Game, Arena, Replay, Options, Exit.
  * With transitions, button feedback, and game-style font.
  */
 public class MenuScreen implements Screen {
 
     private final SnakeGame game;
-    private OrthographicCamera camera;
-    private SpriteBatch batch;
-    private GameFont gameFont;
-    private GlyphLayout layout;
+    private final OrthographicCamera camera;
+    private final SpriteBatch batch;
+    private final GameFont gameFont;
 
     private float viewWidth;
     private float viewHeight;
@@ -27,28 +24,28 @@ public class MenuScreen implements Screen {
     private static final float BUTTON_WIDTH = 280;
     private static final float BUTTON_HEIGHT = 50;
     private static final float BUTTON_SPACING = 20;
-    private static final float TRANSITION_DURATION = 0.35f;
+    private static final String[] BUTTON_LABELS = {"Start Game", "Arena", "Replay", "Options", "Exit"};
 
     private int hoveredButton = -1;
     private int pressedButton = -1;
+    private final Vector3 touch = new Vector3();
+    private final StringBuilder text = new StringBuilder(32);
 
     public MenuScreen(SnakeGame game) {
         this.game = game;
+        camera = new OrthographicCamera();
+        batch = game.getRenderContext().getBatch();
+        gameFont = game.getRenderContext().getFont();
     }
 
     @Override
     public void show() {
         viewWidth = Gdx.graphics.getWidth();
         viewHeight = Gdx.graphics.getHeight();
-
-        camera = new OrthographicCamera();
         camera.setToOrtho(false, viewWidth, viewHeight);
-
-        batch = new SpriteBatch();
-        BitmapFont font = new BitmapFont();
-        font.getData().setScale(2f);
-        gameFont = new GameFont(font);
-        layout = new GlyphLayout();
+        gameFont.setScale(2f);
+        hoveredButton = -1;
+        pressedButton = -1;
     }
 
     @Override
@@ -56,29 +53,18 @@ public class MenuScreen implements Screen {
         Color bg = game.getTheme().getBackground();
         com.badlogic.gdx.utils.ScreenUtils.clear(bg.r, bg.g, bg.b, 1f);
 
+        batch.setShader(game.getAssets().getSpriteShader());
         batch.setProjectionMatrix(camera.combined);
         batch.begin();
 
-        // Title
-        gameFont.setScale(3f);
-        gameFont.drawCenteredWithShadow(batch, "SNAKE", viewWidth / 2, viewHeight - 80,
-                new Color(0.3f, 0.9f, 0.4f, 1f));
-
-        gameFont.setScale(1.5f);
-        gameFont.drawCenteredWithShadow(batch, "High Score: " + game.getHighScore(), viewWidth / 2, viewHeight - 130,
-                new Color(0.6f, 0.8f, 0.6f, 1f));
-
-        gameFont.setScale(2f);
-
         // Buttons - centered
         float startY = viewHeight / 2 + 40;
         float buttonLeft = (viewWidth - BUTTON_WIDTH) / 2;
 
         // Update hover/press state
-        Vector3 touch = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        camera.unproject(touch);
+        camera.unproject(touch.set(Gdx.input.getX(), Gdx.input.getY(), 0));
         hoveredButton = -1;
-        for (int i = 0; i < 3; i++) {
+        for (int i = 0; i < BUTTON_LABELS.length; i++) {
             float buttonTop = startY - i * (BUTTON_HEIGHT + BUTTON_SPACING);
             float buttonBottom = buttonTop - BUTTON_HEIGHT;
             if (touch.x >= buttonLeft && touch.x <= buttonLeft + BUTTON_WIDTH &&
@@ -93,11 +79,31 @@ public class MenuScreen implements Screen {
             pressedButton = -1;
         }
 
-        for (int i = 0; i < 3; i++) {
+        for (int i = 0; i < BUTTON_LABELS.length; i++) {
             float buttonTop = startY - i * (BUTTON_HEIGHT + BUTTON_SPACING);
-            drawButton("Start Game", "Options", "Exit", i, buttonTop, buttonLeft);
+            drawButton(i, buttonTop, buttonLeft);
         }
 
+        // All text in one pass over the buttons
+        gameFont.beginText(batch);
+        gameFont.setScale(3f);
+        gameFont.drawCenteredWithShadow(batch, "SNAKE", viewWidth / 2, viewHeight - 80,
+                GameFont.GREEN);
+
+        gameFont.setScale(1.5f);
+        text.setLength(0);
+        gameFont.drawCenteredWithShadow(batch, text.append("High Score: ").append(game.getHighScore()),
+                viewWidth / 2, viewHeight - 130, GameFont.TEXT_SAGE);
+
+        gameFont.setScale(2f);
+        for (int i = 0; i < BUTTON_LABELS.length; i++) {
+            float buttonBottom = startY - i * (BUTTON_HEIGHT + BUTTON_SPACING) - BUTTON_HEIGHT;
+            String label = BUTTON_LABELS[i];
+            gameFont.drawCenteredWithShadow(batch, label, viewWidth / 2,
+                    buttonBottom + (BUTTON_HEIGHT + gameFont.getHeight(label)) / 2 - 4);
+        }
+        gameFont.endText(batch);
+
         batch.end();
 
         // Handle click (on touch down)
@@ -108,12 +114,8 @@ public class MenuScreen implements Screen {
         }
     }
 
-    private void drawButton(String startText, String optionsText, String exitText, int index, float topY, float left) {
-        String text = switch (index) {
-            case 0 -> startText;
-            case 1 -> optionsText;
-            default -> exitText;
-        };
+    /** The button's background, with hover and press feedback; its label is drawn with the rest of the text. */
+    private void drawButton(int index, float topY, float left) {
         float bottomY = topY - BUTTON_HEIGHT;
 
         // Button feedback: scale and color
@@ -133,18 +135,17 @@ public class MenuScreen implements Screen {
         float oy = (BUTTON_HEIGHT - h) / 2;
 
         batch.setColor(r, g, b, 1f);
-        batch.draw(game.getAssets().buttonBg, left + ox, bottomY + oy, w, h);
+        if (game.getAssets().isLoaded()) batch.draw(game.getAssets().buttonBg, left + ox, bottomY + oy, w, h);  // sprites still loading: text only
         batch.setColor(1, 1, 1, 1);
-
-        layout.setText(gameFont.getFont(), text);
-        gameFont.drawCenteredWithShadow(batch, text, viewWidth / 2, bottomY + (BUTTON_HEIGHT + layout.height) / 2 - 4);
     }
 
     private void handleClick(int button) {
         switch (button) {
-            case 0 -> game.setScreen(new FadeInScreen(game, new GameScreen(game), TRANSITION_DURATION));
-            case 1 -> game.setScreen(new FadeInScreen(game, new OptionsScreen(game), TRANSITION_DURATION));
-            case 2 -> Gdx.app.exit();
+            case 0 -> game.transitionTo(game.getGameScreen(), TransitionScreen.Effect.FADE);
+            case 1 -> game.transitionTo(game.getArenaScreen(), TransitionScreen.Effect.DISSOLVE);
+            case 2 -> game.transitionTo(game.getReplayScreen(), TransitionScreen.Effect.DISSOLVE);
+            case 3 -> game.transitionTo(game.getOptionsScreen(), TransitionScreen.Effect.SLIDE);
+            case 4 -> Gdx.app.exit();
         }
     }
 
@@ -165,8 +166,5 @@ public class MenuScreen implements Screen {
     public void hide() {}
 
     @Override
-    public void dispose() {
-        batch.dispose();
-        gameFont.getFont().dispose();
-    }
+    public void dispose() {}
 }
@@ -4,8 +4,6 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.ScreenUtils;
@@ -16,11 +14,9 @@ import com.badlogic.gdx.utils.ScreenUtils;
 public class OptionsScreen implements Screen {
 
     private final SnakeGame game;
-    private OrthographicCamera camera;
-    private SpriteBatch batch;
-    private BitmapFont font;
-    private GameFont gameFont;
-    private GlyphLayout layout;
+    private final OrthographicCamera camera;
+    private final SpriteBatch batch;
+    private final GameFont gameFont;
 
     private float viewWidth;
     private float viewHeight;
@@ -29,113 +25,140 @@ public class OptionsScreen implements Screen {
     private static final float BUTTON_HEIGHT = 50;
     private static final float BUTTON_SPACING = 16;
     private static final float SMALL_BUTTON_WIDTH = 140;
-    private static final float TRANSITION_DURATION = 0.35f;
+    private static final float WIDE_BUTTON_WIDTH = SMALL_BUTTON_WIDTH * 2 + 20;
+    private static final String[] WINDOW_SIZE_LABELS = new String[SnakeGame.WINDOW_SIZES.length];
+
+    static {
+        for (int i = 0; i < WINDOW_SIZE_LABELS.length; i++) {
+            WINDOW_SIZE_LABELS[i] = SnakeGame.WINDOW_SIZES[i][0] + "x" + SnakeGame.WINDOW_SIZES[i][1];
+        }
+    }
 
     private boolean backHovered;
     private boolean backPressed;
+    private final Vector3 touch = new Vector3();
+    private final StringBuilder text = new StringBuilder(32);
 
     public OptionsScreen(SnakeGame game) {
         this.game = game;
+        camera = new OrthographicCamera();
+        batch = game.getRenderContext().getBatch();
+        gameFont = game.getRenderContext().getFont();
     }
 
     @Override
     public void show() {
         viewWidth = Gdx.graphics.getWidth();
         viewHeight = Gdx.graphics.getHeight();
-
-        camera = new OrthographicCamera();
         camera.setToOrtho(false, viewWidth, viewHeight);
-
-        batch = new SpriteBatch();
-        font = new BitmapFont();
-        font.getData().setScale(2f);
-        gameFont = new GameFont(font);
-        layout = new GlyphLayout();
+        gameFont.setScale(2f);
+        backHovered = false;
+        backPressed = false;
     }
 
     @Override
     public void render(float delta) {
         ScreenUtils.clear(game.getTheme().getBackground());
 
+        batch.setShader(game.getAssets().getSpriteShader());
         batch.setProjectionMatrix(camera.combined);
         batch.begin();
 
-        // Title
-        gameFont.setScale(2.5f);
-        gameFont.drawCenteredWithShadow(batch, "OPTIONS", viewWidth / 2, viewHeight - 60,
-                new Color(0.3f, 0.9f, 0.4f, 1f));
-
-        font.getData().setScale(1.5f);
-
-        float startY = viewHeight / 2 + 60;
-
-        // Window Mode section
-        font.draw(batch, "Window Mode:", 60, startY);
+        float startY = viewHeight - 120;
         float modeY = startY - 40;
-        boolean fullscreen = game.getPreferences().getBoolean(SnakeGame.PREF_FULLSCREEN, false);
-        drawSmallButton("Fullscreen", 60, modeY - BUTTON_HEIGHT, fullscreen);
-        drawSmallButton("Windowed", 220, modeY - BUTTON_HEIGHT, !fullscreen);
-
-        // Theme section
         float themeY = modeY - 80;
-        font.draw(batch, "Theme:", 60, themeY);
         float themeButtonY = themeY - 40;
-        Theme currentTheme = game.getTheme();
-        drawSmallButton("Classic", 60, themeButtonY, currentTheme == Theme.CLASSIC);
-        drawSmallButton("Neon", 220, themeButtonY, currentTheme == Theme.NEON);
-        drawSmallButton("Desert", 380, themeButtonY, currentTheme == Theme.DESERT);
-
-        // Size section
-        float sizeY = themeY - 80;
-        font.draw(batch, "Window Size:", 60, sizeY);
+        float boardY = themeY - 80;
+        float boardButtonY = boardY - 40;
+        float sizeY = boardY - 80;
         float sizeButtonY = sizeY - 40;
 
+        boolean fullscreen = game.getPreferences().getBoolean(SnakeGame.PREF_FULLSCREEN, false);
+        Theme currentTheme = game.getTheme();
+        int board = game.getBoardSize();
         int prefWidth = game.getPreferences().getInteger(SnakeGame.PREF_WIDTH, 640);
         int prefHeight = game.getPreferences().getInteger(SnakeGame.PREF_HEIGHT, 640);
         int selectedSize = findSizeIndex(prefWidth, prefHeight);
 
-        for (int i = 0; i < SnakeGame.WINDOW_SIZES.length; i++) {
-            float x = 60 + (i % 3) * (SMALL_BUTTON_WIDTH + 20);
-            int row = i / 3;
-            float y = sizeButtonY - row * (BUTTON_HEIGHT + BUTTON_SPACING);
-            String label = SnakeGame.WINDOW_SIZES[i][0] + "x" + SnakeGame.WINDOW_SIZES[i][1];
-            drawSmallButton(label, x, y, selectedSize == i);
-        }
-
-        // Back button
         float backY = 80;
         float backLeft = (viewWidth - BUTTON_WIDTH) / 2;
-        Vector3 touchPos = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        camera.unproject(touchPos);
-        backHovered = touchPos.x >= backLeft && touchPos.x <= backLeft + BUTTON_WIDTH &&
-                touchPos.y >= backY && touchPos.y <= backY + BUTTON_HEIGHT;
+        camera.unproject(touch.set(Gdx.input.getX(), Gdx.input.getY(), 0));
+        backHovered = touch.x >= backLeft && touch.x <= backLeft + BUTTON_WIDTH &&
+                touch.y >= backY && touch.y <= backY + BUTTON_HEIGHT;
         backPressed = backHovered && Gdx.input.isTouched();
-        drawButton("Back", backY, backHovered, backPressed);
+
+        // Button backgrounds first, then every label in one pass of text over them
+        for (int pass = 0; pass < 2; pass++) {
+            boolean labels = pass == 1;
+            if (labels) {
+                gameFont.beginText(batch);
+                gameFont.setScale(2.5f);
+                gameFont.drawCenteredWithShadow(batch, "OPTIONS", viewWidth / 2, viewHeight - 60,
+                        GameFont.GREEN);
+                gameFont.setScale(1.5f);
+                gameFont.draw(batch, "Window Mode:", 60, startY, GameFont.GREEN);
+                gameFont.draw(batch, "Theme:", 60, themeY, GameFont.GREEN);
+                gameFont.draw(batch, "Board Size:", 60, boardY, GameFont.GREEN);
+                gameFont.draw(batch, "Window Size:", 60, sizeY, GameFont.GREEN);
+            }
+
+            // Window Mode section
+            drawSmallButton("Fullscreen", 60, modeY - BUTTON_HEIGHT, fullscreen, labels);
+            drawSmallButton("Windowed", 220, modeY - BUTTON_HEIGHT, !fullscreen, labels);
+
+            // Theme section
+            drawSmallButton("Classic", 60, themeButtonY, currentTheme == Theme.CLASSIC, labels);
+            drawSmallButton("Neon", 220, themeButtonY, currentTheme == Theme.NEON, labels);
+            drawSmallButton("Desert", 380, themeButtonY, currentTheme == Theme.DESERT, labels);
+
+            // Board size section - one button that cycles through the sizes
+            text.setLength(0);
+            drawButtonAt(text.append(board).append(" x ").append(board), 60, boardButtonY, WIDE_BUTTON_WIDTH, true,
+                    labels);
+
+            // Size section
+            for (int i = 0; i < SnakeGame.WINDOW_SIZES.length; i++) {
+                float x = 60 + (i % 3) * (SMALL_BUTTON_WIDTH + 20);
+                int row = i / 3;
+                float y = sizeButtonY - row * (BUTTON_HEIGHT + BUTTON_SPACING);
+                drawSmallButton(WINDOW_SIZE_LABELS[i], x, y, selectedSize == i, labels);
+            }
+
+            // Back button
+            drawButton("Back", backY, backHovered, backPressed, labels);
+        }
+        gameFont.endText(batch);
 
         batch.end();
 
         // Handle click
         if (Gdx.input.justTouched()) {
-            Vector3 touch = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-            camera.unproject(touch);
+            camera.unproject(touch.set(Gdx.input.getX(), Gdx.input.getY(), 0));
 
             // Theme buttons
             if (touch.y >= themeButtonY && touch.y <= themeButtonY + BUTTON_HEIGHT) {
                 if (touch.x >= 60 && touch.x <= 60 + SMALL_BUTTON_WIDTH) {
                     game.getPreferences().putString(SnakeGame.PREF_THEME, Theme.CLASSIC.name());
                     game.getPreferences().flush();
-                    game.getAssets().load(Theme.CLASSIC);
+                    game.getAssets().request(Theme.CLASSIC);
                 } else if (touch.x >= 220 && touch.x <= 220 + SMALL_BUTTON_WIDTH) {
                     game.getPreferences().putString(SnakeGame.PREF_THEME, Theme.NEON.name());
                     game.getPreferences().flush();
-                    game.getAssets().load(Theme.NEON);
+                    game.getAssets().request(Theme.NEON);
                 } else if (touch.x >= 380 && touch.x <= 380 + SMALL_BUTTON_WIDTH) {
                     game.getPreferences().putString(SnakeGame.PREF_THEME, Theme.DESERT.name());
                     game.getPreferences().flush();
-                    game.getAssets().load(Theme.DESERT);
+                    game.getAssets().request(Theme.DESERT);
                 }
             }
 
+            // Board size button
+            if (touch.y >= boardButtonY && touch.y <= boardButtonY + BUTTON_HEIGHT &&
+                    touch.x >= 60 && touch.x <= 60 + WIDE_BUTTON_WIDTH) {
+                game.getPreferences().putInteger(SnakeGame.PREF_BOARD_SIZE, nextBoardSize(board));
+                game.getPreferences().flush();
+            }
+
             // Fullscreen / Windowed buttons
             if (touch.y >= modeY - BUTTON_HEIGHT - 10 && touch.y <= modeY + 10) {
                 if (touch.x >= 60 && touch.x <= 60 + SMALL_BUTTON_WIDTH) {
@@ -170,7 +193,7 @@ public class OptionsScreen implements Screen {
 
             // Back button
             if (backHovered) {
-                game.setScreen(new FadeInScreen(game, new MenuScreen(game), TRANSITION_DURATION));
+                game.transitionTo(game.getMenuScreen(), TransitionScreen.Effect.SLIDE);
             }
         }
     }
@@ -184,19 +207,40 @@ public class OptionsScreen implements Screen {
         return 0;
     }
 
-    private void drawSmallButton(String text, float x, float y, boolean selected) {
+    private int nextBoardSize(int current) {
+        for (int i = 0; i < SnakeGame.BOARD_SIZES.length; i++) {
+            if (SnakeGame.BOARD_SIZES[i] == current) {
+                return SnakeGame.BOARD_SIZES[(i + 1) % SnakeGame.BOARD_SIZES.length];
+            }
+        }
+        return SnakeGame.BOARD_SIZES[0];
+    }
+
+    private void drawSmallButton(CharSequence text, float x, float y, boolean selected, boolean label) {
+        drawButtonAt(text, x, y, SMALL_BUTTON_WIDTH, selected, label);
+    }
+
+    /** The button's background, or with label set its text. */
+    private void drawButtonAt(CharSequence text, float x, float y, float width, boolean selected, boolean label) {
+        if (label) {
+            gameFont.drawCentered(batch, text, x + width / 2, y + (BUTTON_HEIGHT + gameFont.getHeight(text)) / 2 - 4,
+                    Color.WHITE);
+            return;
+        }
         batch.setColor(selected ? 1f : 0.75f, selected ? 1f : 0.85f, selected ? 0.9f : 0.7f, 1f);
-        batch.draw(game.getAssets().buttonBg, x, y, SMALL_BUTTON_WIDTH, BUTTON_HEIGHT);
+        if (game.getAssets().isLoaded()) batch.draw(game.getAssets().buttonBg, x, y, width, BUTTON_HEIGHT);
         batch.setColor(1, 1, 1, 1);
-
-        font.setColor(Color.WHITE);
-        layout.setText(font, text);
-        font.draw(batch, text, x + (SMALL_BUTTON_WIDTH - layout.width) / 2, y + (BUTTON_HEIGHT + layout.height) / 2 - 4);
     }
 
-    private void drawButton(String text, float topY, boolean hovered, boolean pressed) {
+    /** The button's background with hover and press feedback, or with label set its text. */
+    private void drawButton(String text, float topY, boolean hovered, boolean pressed, boolean label) {
         float left = (viewWidth - BUTTON_WIDTH) / 2;
         float bottomY = topY;
+        if (label) {
+            gameFont.drawCenteredWithShadow(batch, text, viewWidth / 2,
+                    bottomY + (BUTTON_HEIGHT + gameFont.getHeight(text)) / 2 - 4);
+            return;
+        }
 
         float scale = pressed ? 0.96f : (hovered ? 1.02f : 1f);
         float r = pressed ? 0.85f : (hovered ? 1f : 1f);
@@ -208,11 +252,8 @@ public class OptionsScreen implements Screen {
         float oy = (BUTTON_HEIGHT - h) / 2;
 
         batch.setColor(r, g, b, 1f);
-        batch.draw(game.getAssets().buttonBg, left + ox, bottomY + oy, w, h);
+        if (game.getAssets().isLoaded()) batch.draw(game.getAssets().buttonBg, left + ox, bottomY + oy, w, h);
         batch.setColor(1, 1, 1, 1);
-
-        layout.setText(font, text);
-        gameFont.drawCenteredWithShadow(batch, text, viewWidth / 2, bottomY + (BUTTON_HEIGHT + layout.height) / 2 - 4);
     }
 
     @Override
@@ -232,8 +273,5 @@ public class OptionsScreen implements Screen {
     public void hide() {}
 
     @Override
-    public void dispose() {
-        batch.dispose();
-        font.dispose();
-    }
+    public void dispose() {}
 }
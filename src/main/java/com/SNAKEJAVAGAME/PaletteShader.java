@@ -0,0 +1,90 @@
+package com.SNAKEJAVAGAME;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * SpriteBatch shader that colours the atlas's index-map sprites from a palette.
+ *
+ * An index-map texel holds a palette slot in red, 0 in green and 255 in blue (a colour no
+ * plain sprite uses), with its coverage in alpha. The shader reads the slot from the
+ * nearest texel, so filtering never mixes two slots, and looks it up in the current
+ * theme's row of the palette region packed into the same atlas; every other texel, and
+ * every other texture (fonts), is drawn as is. Switching themes is one uniform.
+ */
+public class PaletteShader implements Disposable {
+
+    static final String VERTEX_SHADER = ""  // SpriteBatch's own, shared with DistanceFieldShader
+            + "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main() {\n"
+            + "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "    v_color.a = v_color.a * (255.0 / 254.0);\n"  // as SpriteBatch's own shader
+            + "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "}\n";
+
+    private static final String FRAGMENT_SHADER = ""
+            + "#ifdef GL_ES\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "uniform vec2 u_atlasSize;\n"
+            + "uniform vec3 u_palette;\n"  // u of slot 0, v of the theme's row, u step per slot
+            + "void main() {\n"
+            + "    vec4 texel = texture2D(u_texture, v_texCoords);\n"
+            + "    vec4 key = texture2D(u_texture, (floor(v_texCoords * u_atlasSize) + 0.5) / u_atlasSize);\n"
+            + "    if (key.g < 0.5 / 255.0 && key.b > 254.5 / 255.0) {\n"
+            + "        float slot = floor(key.r * 255.0 + 0.5);\n"
+            + "        vec4 color = texture2D(u_texture, vec2(u_palette.x + slot * u_palette.z, u_palette.y));\n"
+            + "        texel = vec4(color.rgb, color.a * texel.a);\n"
+            + "    }\n"
+            + "    gl_FragColor = v_color * texel;\n"
+            + "}\n";
+
+    private ShaderProgram shader;
+
+    public PaletteShader() {
+        ShaderProgram program = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!program.isCompiled()) {
+            System.err.println("Palette shader failed, baking themes on the CPU: " + program.getLog());
+            program.dispose();
+            return;
+        }
+        shader = program;
+    }
+
+    /** True when the shader compiled; otherwise sprites must be baked per theme. */
+    public boolean isActive() {
+        return shader != null;
+    }
+
+    /** The program to hand to SpriteBatch.setShader, null when inactive. */
+    public ShaderProgram getProgram() {
+        return shader;
+    }
+
+    /** Points the shader at row of the palette region. Call outside batch.begin/end. */
+    public void setPalette(TextureRegion palette, int row) {
+        if (shader == null) return;
+        float width = palette.getTexture().getWidth();
+        float height = palette.getTexture().getHeight();
+        shader.bind();
+        shader.setUniformf("u_atlasSize", width, height);
+        shader.setUniformf("u_palette", (palette.getRegionX() + 0.5f) / width,
+                (palette.getRegionY() + row + 0.5f) / height, 1 / width);
+    }
+
+    @Override
+    public void dispose() {
+        if (shader != null) shader.dispose();
+        shader = null;
+    }
+}
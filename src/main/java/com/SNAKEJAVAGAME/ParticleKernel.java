@@ -0,0 +1,63 @@
+package com.SNAKEJAVAGAME;
+
+/**
+ * The integration step of {@link ParticleSystem}: position += velocity * dt, velocity *= drag,
+ * life -= dt over the first count entries of the particle arrays.
+ *
+ * {@link #detect()} picks the SIMD kernel when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector} and the CPU has wide enough vectors, and the
+ * scalar loop otherwise. Both give bit-identical results.
+ */
+public interface ParticleKernel {
+
+    ParticleKernel SCALAR = new Scalar();
+
+    /** @return true if any particle's life ran out */
+    boolean integrate(float[] x, float[] y, float[] vx, float[] vy, float[] life, int count, float delta, float drag);
+
+    String getName();
+
+    static ParticleKernel detect() {
+        try {
+            // loaded by name so a JVM without the incubator module never links against it
+            Class<?> type = Class.forName("com.SNAKEJAVAGAME.VectorParticleKernel");
+            return (ParticleKernel) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return SCALAR;  // no incubator module, or too few vector lanes to pay off
+        }
+    }
+
+    static ParticleKernel forName(String name) {
+        return switch (name) {
+            case "scalar" -> SCALAR;
+            case "vector" -> {
+                ParticleKernel kernel = detect();
+                if (kernel == SCALAR) throw new IllegalArgumentException("Vector kernel unavailable (needs --add-modules jdk.incubator.vector)");
+                yield kernel;
+            }
+            default -> throw new IllegalArgumentException("Unknown particle kernel: " + name);
+        };
+    }
+
+    final class Scalar implements ParticleKernel {
+
+        private Scalar() {}
+
+        @Override
+        public boolean integrate(float[] x, float[] y, float[] vx, float[] vy, float[] life, int count, float delta, float drag) {
+            boolean dead = false;
+            for (int i = 0; i < count; i++) {
+                x[i] += vx[i] * delta;
+                y[i] += vy[i] * delta;
+                vx[i] *= drag;
+                vy[i] *= drag;
+                life[i] -= delta;
+                dead |= life[i] <= 0;
+            }
+            return dead;
+        }
+
+        @Override
+        public String getName() { return "scalar"; }
+    }
+}
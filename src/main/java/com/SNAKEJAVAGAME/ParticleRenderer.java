@@ -0,0 +1,128 @@
+package com.SNAKEJAVAGAME;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Draws a {@link ParticleSystem} with one instanced draw call: a unit quad mesh plus a
+ * streaming per-instance buffer (position, size, colour, life), refilled each frame;
+ * the vertex shader places and sizes each quad and fades it by remaining life.
+ *
+ * Needs GL 3.0 (see {@link Main}); without it, or if the shader does not compile, every
+ * draw goes through the particle system's SpriteBatch path instead.
+ */
+public class ParticleRenderer implements Disposable {
+
+    private static final String VERTEX_SHADER = ""
+            + "attribute vec2 a_corner;\n"
+            + "attribute vec2 a_center;\n"
+            + "attribute float a_size;\n"
+            + "attribute vec4 a_color;\n"
+            + "attribute vec2 a_life;\n"  // remaining, total
+            + "uniform mat4 u_projTrans;\n"
+            + "uniform vec4 u_region;\n"  // u, v, u2, v2
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main() {\n"
+            + "    v_color = vec4(a_color.rgb, a_life.x / a_life.y);\n"
+            + "    v_texCoords = vec2(mix(u_region.x, u_region.z, a_corner.x + 0.5), mix(u_region.w, u_region.y, a_corner.y + 0.5));\n"
+            + "    gl_Position = u_projTrans * vec4(a_center + a_corner * a_size, 0.0, 1.0);\n"
+            + "}\n";
+
+    private static final String FRAGMENT_SHADER = ""
+            + "#ifdef GL_ES\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "void main() {\n"
+            + "    gl_FragColor = v_color * texture2D(u_texture, v_texCoords);\n"
+            + "}\n";
+
+    private ShaderProgram shader;
+    private Mesh mesh;
+    private float[] instances = new float[0];
+    private int maxInstances;
+    private int renderCalls;  // instanced draws in the last draw()
+
+    public ParticleRenderer() {
+        if (Gdx.gl30 == null) return;
+        ShaderProgram program = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!program.isCompiled()) {
+            System.err.println("Particle shader failed, using SpriteBatch: " + program.getLog());
+            program.dispose();
+            return;
+        }
+        shader = program;
+    }
+
+    /** True when particles are drawn instanced on the GPU. */
+    public boolean isInstanced() {
+        return shader != null;
+    }
+
+    /**
+     * Draws the particles inside the given world rect with the batch's projection. Call
+     * between batch.begin and batch.end; the batch is ended and restarted around the
+     * instanced draw so the order with other sprites is kept.
+     */
+    public void draw(SpriteBatch batch, ParticleSystem particles, float minX, float minY, float maxX, float maxY) {
+        renderCalls = 0;
+        TextureRegion region = particles.getParticleTexture();
+        if (shader == null || region == null) {
+            particles.draw(batch, minX, minY, maxX, maxY);
+            return;
+        }
+        ensureCapacity(particles.getCapacity());
+        int count = particles.writeInstances(instances, minX, minY, maxX, maxY);
+        if (count == 0) return;  // a mesh with no instances would draw one plain quad
+
+        batch.end();
+        mesh.setInstanceData(instances, 0, count * ParticleSystem.INSTANCE_FLOATS);
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        region.getTexture().bind(0);
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", batch.getProjectionMatrix());
+        shader.setUniformi("u_texture", 0);
+        shader.setUniformf("u_region", region.getU(), region.getV(), region.getU2(), region.getV2());
+        mesh.render(shader, GL20.GL_TRIANGLES);
+        renderCalls = 1;
+        batch.begin();
+    }
+
+    /** GL draw calls made outside the batch by the last {@link #draw}: 1 if it drew instanced, else 0. */
+    public int getRenderCalls() {
+        return renderCalls;
+    }
+
+    /** (Re)creates the mesh when the particle system can hold more than the instance buffer. */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= maxInstances) return;
+        if (mesh != null) mesh.dispose();
+        maxInstances = capacity;
+        instances = new float[capacity * ParticleSystem.INSTANCE_FLOATS];
+        mesh = new Mesh(true, 4, 6, new VertexAttribute(VertexAttributes.Usage.Position, 2, "a_corner"));
+        mesh.setVertices(new float[] {-0.5f, -0.5f, 0.5f, -0.5f, 0.5f, 0.5f, -0.5f, 0.5f});
+        mesh.setIndices(new short[] {0, 1, 2, 2, 3, 0});
+        mesh.enableInstancedRendering(false, capacity,
+                new VertexAttribute(VertexAttributes.Usage.Generic, 2, "a_center"),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 1, "a_size"),
+                VertexAttribute.ColorPacked(),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 2, "a_life"));
+    }
+
+    @Override
+    public void dispose() {
+        if (mesh != null) mesh.dispose();
+        if (shader != null) shader.dispose();
+    }
+}
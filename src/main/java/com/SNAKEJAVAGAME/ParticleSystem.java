@@ -3,128 +3,283 @@ package com.SNAKEJAVAGAME;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.NumberUtils;
 
 import java.util.Random;
 
 /**
  * AAA particle effects - eat, crash, game over.
+ *
+ * Particles live in flat parallel arrays (structure of arrays) of a fixed capacity: the
+ * live ones are always indices 0..count-1, and a dead particle is replaced by the last
+ * live one, so update is a tight loop over primitive arrays and nothing is allocated
+ * after construction.
+ *
+ * A governor keeps effects from costing frames: it lowers the live particle budget while
+ * frames run over 1/60 s, scales burst sizes and lifetimes down as the budget fills, and
+ * thins out bursts that overlap in the same frame. Emitting past the budget drops particles.
+ *
+ * The integration itself is a {@link ParticleKernel}, SIMD when the JVM supports it.
  */
 public class ParticleSystem {
 
-    private static class Particle implements Pool.Poolable {
-        Vector2 pos = new Vector2();
-        Vector2 vel = new Vector2();
-        Color color = new Color();
-        float life;
-        float maxLife;
-        float size;
-
-        @Override
-        public void reset() {
-            pos.set(0, 0);
-            vel.set(0, 0);
-            life = 0;
-            maxLife = 0;
-            size = 0;
-        }
-    }
+    public static final int DEFAULT_CAPACITY = 4096;
+    /** Floats per particle written by {@link #writeInstances}: x, y, size, packed colour, life, max life. */
+    public static final int INSTANCE_FLOATS = 6;
+    private static final float DRAG = 0.92f;
+    private static final int CRASH_RGBA = Color.rgba8888(0.9f, 0.2f, 0.2f, 1f);
+    private static final int GREEN_RGBA = Color.rgba8888(0.3f, 0.9f, 0.4f, 1f);
+    private static final int YELLOW_RGBA = Color.rgba8888(0.9f, 0.9f, 0.3f, 1f);
+
+    private static final ParticleKernel DEFAULT_KERNEL = ParticleKernel.detect();
+    private static final float TARGET_FRAME_TIME = 1 / 60f;
+    private static final float FRAME_SMOOTHING = 0.1f;
+    private static final int MERGE_SLOTS = 16;   // bursts remembered per frame for merging
+    private static final float MERGE_RADIUS = 24;
+
+    private final ParticleKernel kernel;
+    private final int capacity;
+    private final float[] x;
+    private final float[] y;
+    private final float[] vx;
+    private final float[] vy;
+    private final int[] rgba;      // RGBA8888, alpha is taken from the remaining life
+    private final float[] life;
+    private final float[] maxLife;
+    private final float[] size;
+    private int count;
+
+    private int budget;            // live particle limit, <= capacity, lowered under frame pressure
+    private final int minBudget;
+    private float frameTime = TARGET_FRAME_TIME;
+    private final float[] burstX = new float[MERGE_SLOTS];  // burst origins this frame
+    private final float[] burstY = new float[MERGE_SLOTS];
+    private int bursts;
+    private float lifeScale = 1;
+    private long dropped;
+    private long merged;
 
-    private final Array<Particle> particles = new Array<>();
-    private final Pool<Particle> pool = new Pool<Particle>() {
-        @Override
-        protected Particle newObject() {
-            return new Particle();
-        }
-    };
     private final Random random = new Random();
     private TextureRegion particleTex;
 
+    public ParticleSystem() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ParticleSystem(int capacity) {
+        this(capacity, DEFAULT_KERNEL);
+    }
+
+    public ParticleSystem(int capacity, ParticleKernel kernel) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        this.capacity = capacity;
+        this.kernel = kernel;
+        budget = capacity;
+        minBudget = Math.min(capacity, Math.max(64, capacity / 16));
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        rgba = new int[capacity];
+        life = new float[capacity];
+        maxLife = new float[capacity];
+        size = new float[capacity];
+    }
+
     public void setParticleTexture(TextureRegion tex) {
         this.particleTex = tex;
     }
 
     public void emitEat(float x, float y, Color baseColor) {
-        int count = 12;
-        for (int i = 0; i < count; i++) {
-            Particle p = pool.obtain();
-            p.pos.set(x + 16, y + 16);
-            float angle = random.nextFloat() * 6.28f;
-            float speed = 40 + random.nextFloat() * 80;
-            p.vel.set((float) Math.cos(angle) * speed, (float) Math.sin(angle) * speed);
-            p.color.set(baseColor);
-            p.maxLife = 0.3f + random.nextFloat() * 0.2f;
-            p.life = p.maxLife;
-            p.size = 3 + random.nextFloat() * 4;
-            particles.add(p);
-        }
+        int color = Color.rgba8888(baseColor);
+        int n = plan(x, y, 12);
+        for (int i = 0; i < n; i++) spray(x, y, 40, 80, color, 0.3f, 0.2f, 3, 4);
     }
 
     public void emitCrash(float x, float y) {
-        int count = 20;
-        Color c = new Color(0.9f, 0.2f, 0.2f, 1f);
-        for (int i = 0; i < count; i++) {
-            Particle p = pool.obtain();
-            p.pos.set(x + 16, y + 16);
-            float angle = random.nextFloat() * 6.28f;
-            float speed = 60 + random.nextFloat() * 120;
-            p.vel.set((float) Math.cos(angle) * speed, (float) Math.sin(angle) * speed);
-            p.color.set(c);
-            p.maxLife = 0.4f + random.nextFloat() * 0.3f;
-            p.life = p.maxLife;
-            p.size = 4 + random.nextFloat() * 5;
-            particles.add(p);
-        }
+        int n = plan(x, y, 20);
+        for (int i = 0; i < n; i++) spray(x, y, 60, 120, CRASH_RGBA, 0.4f, 0.3f, 4, 5);
     }
 
     public void emitGameOver(float x, float y) {
-        int count = 35;
-        for (int i = 0; i < count; i++) {
-            Particle p = pool.obtain();
-            p.pos.set(x + 16, y + 16);
-            float angle = random.nextFloat() * 6.28f;
-            float speed = 80 + random.nextFloat() * 150;
-            p.vel.set((float) Math.cos(angle) * speed, (float) Math.sin(angle) * speed);
+        int n = plan(x, y, 35);
+        for (int i = 0; i < n; i++) {
             float r = random.nextFloat();
-            if (r < 0.5f) p.color.set(0.9f, 0.2f, 0.2f, 1f);
-            else if (r < 0.8f) p.color.set(0.3f, 0.9f, 0.4f, 1f);
-            else p.color.set(0.9f, 0.9f, 0.3f, 1f);
-            p.maxLife = 0.5f + random.nextFloat() * 0.4f;
-            p.life = p.maxLife;
-            p.size = 5 + random.nextFloat() * 6;
-            particles.add(p);
+            int color = r < 0.5f ? CRASH_RGBA : r < 0.8f ? GREEN_RGBA : YELLOW_RGBA;
+            spray(x, y, 80, 150, color, 0.5f, 0.4f, 5, 6);
+        }
+    }
+
+    /**
+     * How many of a burst's particles to actually emit: scaled by {@link #getQuality()}, and
+     * halved again when another burst already went off near the same spot this frame (the two
+     * would overlap on screen anyway). Also sets the lifetime scale for the burst.
+     */
+    private int plan(float x, float y, int n) {
+        float q = getQuality();
+        if (overlapsBurst(x, y)) {
+            q *= 0.5f;
+            merged++;
+        } else if (bursts < MERGE_SLOTS) {
+            burstX[bursts] = x;
+            burstY[bursts] = y;
+            bursts++;
+        }
+        lifeScale = 0.5f + 0.5f * q;
+        return Math.max(1, Math.round(n * q));
+    }
+
+    private boolean overlapsBurst(float x, float y) {
+        for (int i = 0; i < bursts; i++) {
+            float dx = burstX[i] - x;
+            float dy = burstY[i] - y;
+            if (dx * dx + dy * dy < MERGE_RADIUS * MERGE_RADIUS) return true;
+        }
+        return false;
+    }
+
+    /** One particle from the centre of the cell at (x, y) in a random direction. */
+    private void spray(float x, float y, float minSpeed, float speedRange, int color,
+                       float minLife, float lifeRange, float minSize, float sizeRange) {
+        float angle = random.nextFloat() * 6.28f;
+        float speed = minSpeed + random.nextFloat() * speedRange;
+        emit(x + 16, y + 16, (float) Math.cos(angle) * speed, (float) Math.sin(angle) * speed, color,
+                (minLife + random.nextFloat() * lifeRange) * lifeScale, minSize + random.nextFloat() * sizeRange);
+    }
+
+    /** Adds one particle; returns false (and drops it) when the system is at its budget. */
+    public boolean emit(float px, float py, float pvx, float pvy, int color, float lifetime, float pixelSize) {
+        if (count >= budget) {
+            dropped++;
+            return false;
         }
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        rgba[i] = color;
+        life[i] = lifetime;
+        maxLife[i] = lifetime;
+        size[i] = pixelSize;
+        return true;
     }
 
     public void update(float delta) {
-        for (int i = particles.size - 1; i >= 0; i--) {
-            Particle p = particles.get(i);
-            p.pos.add(p.vel.x * delta, p.vel.y * delta);
-            p.vel.scl(0.92f); // drag
-            p.life -= delta;
-            if (p.life <= 0) {
-                particles.removeIndex(i);
-                pool.free(p);
-            }
+        govern(delta);
+        if (!kernel.integrate(x, y, vx, vy, life, count, delta, DRAG)) return;
+        // Walk backwards so the particle swapped into a dead slot has already been checked.
+        for (int i = count - 1; i >= 0; i--) {
+            if (life[i] <= 0) removeAt(i);
+        }
+    }
+
+    /**
+     * Budget governor: tracks a smoothed frame time and shrinks the particle budget by 10% a
+     * frame while frames run long, growing it back slowly once they are on time again.
+     */
+    private void govern(float delta) {
+        frameTime += (delta - frameTime) * FRAME_SMOOTHING;
+        if (frameTime > TARGET_FRAME_TIME * 1.2f) {
+            budget = Math.max(minBudget, (int) (budget * 0.9f));
+        } else if (frameTime < TARGET_FRAME_TIME * 1.05f) {
+            budget = Math.min(capacity, budget + Math.max(1, capacity / 128));
         }
+        bursts = 0;
+    }
+
+    private void removeAt(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        rgba[i] = rgba[last];
+        life[i] = life[last];
+        maxLife[i] = maxLife[last];
+        size[i] = size[last];
     }
 
     public void draw(SpriteBatch batch) {
+        draw(batch, -Float.MAX_VALUE, -Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE);
+    }
+
+    /** Draws only particles inside the given world rect (view culling). */
+    public void draw(SpriteBatch batch, float minX, float minY, float maxX, float maxY) {
         if (particleTex == null) return;
-        batch.setColor(1, 1, 1, 1);
-        for (Particle p : particles) {
-            float alpha = p.life / p.maxLife;
-            batch.setColor(p.color.r, p.color.g, p.color.b, alpha);
-            float half = p.size / 2;
-            batch.draw(particleTex, p.pos.x - half, p.pos.y - half, p.size, p.size);
+        for (int i = 0; i < count; i++) {
+            float px = x[i];
+            float py = y[i];
+            if (px < minX || px > maxX || py < minY || py > maxY) continue;
+            int c = rgba[i];
+            batch.setColor((c >>> 24) / 255f, ((c >>> 16) & 0xFF) / 255f, ((c >>> 8) & 0xFF) / 255f,
+                    life[i] / maxLife[i]);
+            float s = size[i];
+            batch.draw(particleTex, px - s / 2, py - s / 2, s, s);
         }
         batch.setColor(1, 1, 1, 1);
     }
 
+    /**
+     * Packs the particles inside the given world rect into out, {@link #INSTANCE_FLOATS} per
+     * particle, for {@link ParticleRenderer}. The colour is packed ABGR like
+     * {@link Color#toFloatBits()}; alpha is left to the shader, which fades by life / max life.
+     *
+     * @return number of particles written
+     */
+    public int writeInstances(float[] out, float minX, float minY, float maxX, float maxY) {
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            float px = x[i];
+            float py = y[i];
+            if (px < minX || px > maxX || py < minY || py > maxY) continue;
+            out[n++] = px;
+            out[n++] = py;
+            out[n++] = size[i];
+            out[n++] = NumberUtils.intToFloatColor(Integer.reverseBytes(rgba[i]));
+            out[n++] = life[i];
+            out[n++] = maxLife[i];
+        }
+        return n / INSTANCE_FLOATS;
+    }
+
     public void clear() {
-        for (Particle p : particles) pool.free(p);
-        particles.clear();
+        count = 0;
+        bursts = 0;
     }
+
+    public TextureRegion getParticleTexture() { return particleTex; }
+
+    public int getCount() { return count; }
+
+    public int getCapacity() { return capacity; }
+
+    public ParticleKernel getKernel() { return kernel; }
+
+    /** Current live particle limit chosen by the governor. */
+    public int getBudget() { return budget; }
+
+    /** Smoothed frame time the governor is reacting to, in seconds. */
+    public float getFrameTime() { return frameTime; }
+
+    /**
+     * Emission scale in [0.25, 1]: full while less than half the budget is in use, then
+     * falling with the remaining headroom. Burst counts and lifetimes shrink with it.
+     */
+    public float getQuality() {
+        float headroom = (budget - count) / (float) budget;
+        return Math.max(0.25f, Math.min(1f, headroom * 2));
+    }
+
+    /** Particles refused because the budget was full, since construction. */
+    public long getDroppedCount() { return dropped; }
+
+    /** Bursts thinned out because they overlapped an earlier one in the same frame. */
+    public long getMergedCount() { return merged; }
+
+    public float getX(int i) { return x[i]; }
+
+    public float getY(int i) { return y[i]; }
+
+    public float getLife(int i) { return life[i]; }
 }
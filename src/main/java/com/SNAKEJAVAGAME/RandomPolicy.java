@@ -0,0 +1,33 @@
+package com.SNAKEJAVAGAME;
+
+import java.util.Random;
+
+/**
+ * Wanders randomly - turns now and then, and whenever going straight would crash.
+ */
+public class RandomPolicy implements SnakePolicy {
+
+    private static final float TURN_CHANCE = 0.15f;
+
+    private final Random random = new Random();
+
+    @Override
+    public void reset(long seed) {
+        random.setSeed(seed ^ 0x5DEECE66DL);
+    }
+
+    @Override
+    public int chooseTurn(SnakeSimulation sim) {
+        int current = sim.getDirection();
+        if (!sim.wouldCrash(current) && random.nextFloat() >= TURN_CHANCE) {
+            return SnakeSimulation.NO_DIRECTION;
+        }
+        // Try the two sideways directions in random order
+        int side = random.nextBoolean() ? 1 : 3;
+        int a = (current + side) & 3;
+        int b = (current + side + 2) & 3;
+        if (!sim.wouldCrash(a)) return a;
+        if (!sim.wouldCrash(b)) return b;
+        return SnakeSimulation.NO_DIRECTION;
+    }
+}
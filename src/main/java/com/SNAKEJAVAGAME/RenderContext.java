@@ -0,0 +1,59 @@
+package com.SNAKEJAVAGAME;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.nio.file.Path;
+
+/**
+ * The GL objects every screen draws with - one sprite batch, one shape renderer, the font
+ * and the transition buffers - created once for the whole application, so changing screens builds no buffers
+ * or shaders.
+ *
+ * The batch is shared: a screen sets the projection matrix and sprite shader it needs at
+ * the start of each frame and puts the colour back to white when it changes it.
+ */
+public class RenderContext implements Disposable {
+
+    private final SpriteBatch batch;
+    private final ShapeRenderer shapes;
+    private final GameFont font;
+    private final TransitionRenderer transitions;
+
+    public RenderContext(Path fontCacheDir) {
+        batch = new SpriteBatch();
+        shapes = new ShapeRenderer();
+        font = GameFont.createShared(fontCacheDir);
+        transitions = new TransitionRenderer();
+    }
+
+    /** Once a frame, on the render thread. */
+    public void update() {
+        font.update();
+    }
+
+    public SpriteBatch getBatch() {
+        return batch;
+    }
+
+    public ShapeRenderer getShapes() {
+        return shapes;
+    }
+
+    public GameFont getFont() {
+        return font;
+    }
+
+    public TransitionRenderer getTransitions() {
+        return transitions;
+    }
+
+    @Override
+    public void dispose() {
+        batch.dispose();
+        shapes.dispose();
+        font.dispose();
+        transitions.dispose();
+    }
+}
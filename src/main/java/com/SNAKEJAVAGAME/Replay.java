@@ -0,0 +1,121 @@
+package com.SNAKEJAVAGAME;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A recorded run: board size, food seed and every accepted turn with the tick it was
+ * requested before. Re-running {@link SnakeSimulation} with the same seed and turns
+ * reproduces the game exactly.
+ *
+ * File layout (see {@link ReplayRecorder}):
+ * <pre>
+ *   int    MAGIC 'SNKR'
+ *   byte   VERSION
+ *   varint width, varint height
+ *   long   seed
+ *   varint records: (tickDelta << 3) | (type << 2) | dir
+ *          type 0 = turn in dir, type 1 = end of run (followed by varint score)
+ * </pre>
+ * A turn is 1 byte when it comes within 15 ticks of the previous one, so a
+ * 10-minute run (5000 ticks) is typically 1-3 KB.
+ */
+public class Replay {
+
+    public static final int MAGIC = 0x534E4B52; // "SNKR"
+    public static final int VERSION = 2;  // 2: food picks the k-th free cell in board order
+    static final int TYPE_TURN = 0;
+    static final int TYPE_END = 1;
+
+    private final int width;
+    private final int height;
+    private final long seed;
+    private final long[] turnTicks;
+    private final byte[] turnDirs;
+    private final long endTick;
+    private final int score;
+
+    Replay(int width, int height, long seed, long[] turnTicks, byte[] turnDirs, long endTick, int score) {
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+        this.turnTicks = turnTicks;
+        this.turnDirs = turnDirs;
+        this.endTick = endTick;
+        this.score = score;
+    }
+
+    public static Replay read(Path file) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (in.remaining() < 5 || in.getInt() != MAGIC) throw new IOException("Not a replay file: " + file);
+        int version = in.get();
+        if (version != VERSION) throw new IOException("Unsupported replay version " + version);
+        int width = (int) readVarint(in);
+        int height = (int) readVarint(in);
+        long seed = in.getLong();
+
+        long[] ticks = new long[64];
+        byte[] dirs = new byte[64];
+        int count = 0;
+        long tick = 0;
+        while (in.hasRemaining()) {
+            long code = readVarint(in);
+            tick += code >>> 3;
+            int type = (int) (code >>> 2) & 1;
+            if (type == TYPE_END) {
+                int score = (int) readVarint(in);
+                return new Replay(width, height, seed, Arrays.copyOf(ticks, count), Arrays.copyOf(dirs, count),
+                        tick, score);
+            }
+            if (count == ticks.length) {
+                ticks = Arrays.copyOf(ticks, count * 2);
+                dirs = Arrays.copyOf(dirs, count * 2);
+            }
+            ticks[count] = tick;
+            dirs[count] = (byte) (code & 3);
+            count++;
+        }
+        throw new IOException("Replay is truncated (no end record): " + file);
+    }
+
+    static long readVarint(ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!in.hasRemaining()) throw new IOException("Truncated varint");
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /** Writes an unsigned varint into buf at pos, returns the new position. */
+    static int writeVarint(byte[] buf, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+        return pos;
+    }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    public long getSeed() { return seed; }
+
+    public int getTurnCount() { return turnTicks.length; }
+
+    /** Tick count at which turn i was requested (applied by the following tick). */
+    public long getTurnTick(int i) { return turnTicks[i]; }
+
+    public int getTurnDirection(int i) { return turnDirs[i]; }
+
+    public long getEndTick() { return endTick; }
+
+    public int getScore() { return score; }
+}
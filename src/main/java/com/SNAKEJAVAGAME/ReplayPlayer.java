@@ -0,0 +1,88 @@
+package com.SNAKEJAVAGAME;
+
+/**
+ * Plays a {@link Replay} back through a {@link SnakeSimulation} with random access.
+ *
+ * Loading runs the whole replay once and keeps a snapshot every {@link #KEYFRAME_INTERVAL}
+ * ticks. Seeking restores the nearest keyframe at or before the target and re-simulates
+ * the rest, so any seek costs at most one interval of ticks however long the run is.
+ */
+public class ReplayPlayer {
+
+    public static final int KEYFRAME_INTERVAL = 256;
+
+    private final Replay replay;
+    private final SnakeSimulation sim;
+    private final SnakeSimulation.Snapshot[] keyframes;
+    private final boolean desynced;
+    private int nextTurn;  // first turn not yet handed to the simulation
+
+    public ReplayPlayer(Replay replay) {
+        this.replay = replay;
+        this.sim = new SnakeSimulation(replay.getWidth(), replay.getHeight(), replay.getSeed());
+        this.keyframes = new SnakeSimulation.Snapshot[(int) (replay.getEndTick() / KEYFRAME_INTERVAL) + 1];
+        while (step()) {
+            // records keyframes on the way
+        }
+        // A run that ends early or with another score was recorded by a different rule set
+        desynced = sim.getTickCount() != replay.getEndTick() || sim.getScore() != replay.getScore();
+        seek(0);
+    }
+
+    /** Runs one tick, feeding the turns recorded for it. Returns false at the end of the replay. */
+    public boolean step() {
+        if (isAtEnd()) return false;
+        long tick = sim.getTickCount();
+        if (tick % KEYFRAME_INTERVAL == 0) {
+            int k = (int) (tick / KEYFRAME_INTERVAL);
+            if (keyframes[k] == null) keyframes[k] = sim.snapshot();
+        }
+        int turns = replay.getTurnCount();
+        while (nextTurn < turns && replay.getTurnTick(nextTurn) == tick) {
+            sim.requestTurn(replay.getTurnDirection(nextTurn++));
+        }
+        sim.tick();
+        return true;
+    }
+
+    /** Moves to the given tick (clamped to the replay). Forward seeks within the current interval just step. */
+    public void seek(long tick) {
+        long target = Math.max(0, Math.min(tick, getEndTick()));
+        long current = sim.getTickCount();
+        if (target < current || target / KEYFRAME_INTERVAL > current / KEYFRAME_INTERVAL) {
+            int k = (int) Math.min(target / KEYFRAME_INTERVAL, keyframes.length - 1);
+            while (keyframes[k] == null) k--;  // a desynced run may stop short of the last keyframes
+            sim.restore(keyframes[k]);
+            nextTurn = firstTurnAtOrAfter(keyframes[k].getTickCount());
+        }
+        while (sim.getTickCount() < target && step()) {
+            // re-simulate the rest of the interval
+        }
+    }
+
+    private int firstTurnAtOrAfter(long tick) {
+        int lo = 0;
+        int hi = replay.getTurnCount();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (replay.getTurnTick(mid) < tick) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    public boolean isAtEnd() {
+        return sim.isGameOver() || sim.getTickCount() >= replay.getEndTick();
+    }
+
+    /** True when re-simulating did not reproduce the recorded end tick and score. */
+    public boolean isDesynced() { return desynced; }
+
+    public SnakeSimulation getSimulation() { return sim; }
+
+    public Replay getReplay() { return replay; }
+
+    public long getTick() { return sim.getTickCount(); }
+
+    public long getEndTick() { return replay.getEndTick(); }
+}
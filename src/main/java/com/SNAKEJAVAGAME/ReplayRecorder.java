@@ -0,0 +1,125 @@
+package com.SNAKEJAVAGAME;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.Future;
+
+/**
+ * Records a run as a compact binary input log (see {@link Replay} for the layout).
+ *
+ * The game thread only encodes varints into a small byte buffer; full chunks and the
+ * final flush are handed to the {@link BackgroundWriter}, so recording never touches
+ * the disk on the render thread.
+ */
+public class ReplayRecorder {
+
+    private static final int CHUNK_SIZE = 4096;
+    private static final int MAX_RECORD = 20;  // two varints
+
+    private final byte[] buffer = new byte[CHUNK_SIZE];
+    private int pos;
+    private long lastTick;
+    private boolean recording;
+    private Path file;
+    private OutputStream out;  // owned by the writer thread
+    private Future<?> lastWrite;
+
+    /** Starts a new recording, replacing the file. */
+    public void start(Path file, int width, int height, long seed) {
+        if (recording) finish(lastTick, 0);
+        this.file = file;
+        pos = 0;
+        lastTick = 0;
+        recording = true;
+        writeInt(Replay.MAGIC);
+        buffer[pos++] = (byte) Replay.VERSION;
+        pos = Replay.writeVarint(buffer, pos, width);
+        pos = Replay.writeVarint(buffer, pos, height);
+        writeLong(seed);
+        Path target = file;
+        BackgroundWriter.submit(() -> {
+            try {
+                Files.createDirectories(target.toAbsolutePath().getParent());
+                out = Files.newOutputStream(target);
+            } catch (IOException e) {
+                out = null;
+                System.err.println("Replay recording disabled: " + e.getMessage());
+            }
+        });
+    }
+
+    /** Records an accepted turn, requested when the simulation was at the given tick count. */
+    public void recordTurn(long tick, int dir) {
+        if (!recording) return;
+        writeRecord(tick, Replay.TYPE_TURN, dir);
+        if (pos > CHUNK_SIZE - MAX_RECORD) flushChunk();
+    }
+
+    /** Writes the end record and closes the file in the background. */
+    public void finish(long tick, int score) {
+        if (!recording) return;
+        recording = false;
+        writeRecord(tick, Replay.TYPE_END, 0);
+        pos = Replay.writeVarint(buffer, pos, score);
+        flushChunk();
+        Path target = file;
+        lastWrite = BackgroundWriter.submit(() -> {
+            if (out == null) return;
+            try {
+                out.close();
+            } catch (IOException e) {
+                System.err.println("Could not close replay " + target + ": " + e.getMessage());
+            }
+            out = null;
+        });
+    }
+
+    /** Blocks until everything handed to the writer so far is on disk (tests, shutdown). */
+    public void awaitWritten() {
+        if (lastWrite == null) return;
+        try {
+            lastWrite.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    private void writeRecord(long tick, int type, int dir) {
+        long delta = tick - lastTick;
+        lastTick = tick;
+        pos = Replay.writeVarint(buffer, pos, (delta << 3) | ((long) type << 2) | (dir & 3));
+    }
+
+    private void flushChunk() {
+        if (pos == 0) return;
+        byte[] chunk = Arrays.copyOf(buffer, pos);
+        pos = 0;
+        lastWrite = BackgroundWriter.submit(() -> {
+            if (out == null) return;
+            try {
+                out.write(chunk);
+            } catch (IOException e) {
+                System.err.println("Replay write failed: " + e.getMessage());
+            }
+        });
+    }
+
+    private void writeInt(int v) {
+        buffer[pos++] = (byte) (v >>> 24);
+        buffer[pos++] = (byte) (v >>> 16);
+        buffer[pos++] = (byte) (v >>> 8);
+        buffer[pos++] = (byte) v;
+    }
+
+    private void writeLong(long v) {
+        writeInt((int) (v >>> 32));
+        writeInt((int) v);
+    }
+}
@@ -0,0 +1,265 @@
+package com.SNAKEJAVAGAME;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+
+/**
+ * Watches the last recorded run - 1x to 1000x fast-forward, keyframe seeking and a
+ * clickable timeline. At high speed many ticks run per frame but only the final state
+ * is drawn, without interpolation or slither.
+ */
+public class ReplayScreen implements Screen {
+
+    private static final int CELL_SIZE = SnakeRenderer.CELL_SIZE;
+    private static final int[] SPEEDS = {1, 2, 4, 10, 50, 200, 1000};
+    private static final int SMOOTH_SPEED_LIMIT = 4;  // interpolate and slither up to this speed
+    private static final int MAX_STEPS_PER_FRAME = 4096;
+    private static final float SEEK_SECONDS = 10f;
+    private static final float TIMELINE_HEIGHT = 10f;
+    private static final float TIMELINE_MARGIN = 16f;
+
+    private final SnakeGame game;
+    private final OrthographicCamera camera = new OrthographicCamera();
+    private final Viewport viewport;
+    private final Matrix4 hudMatrix = new Matrix4();
+    private final StringBuilder text = new StringBuilder(64);  // reused for HUD strings
+    private final Vector3 touch = new Vector3();
+    private final SpriteBatch batch;
+    private final GameFont gameFont;
+    private final SnakeRenderer renderer;
+
+    private ReplayPlayer player;
+    private String loadError;
+    private final FixedStepClock clock = new FixedStepClock(SnakeSimulation.MOVE_INTERVAL, MAX_STEPS_PER_FRAME);
+    private int speedIndex;
+    private boolean paused;
+    private float slitherTime;
+    private float viewWidth;
+    private float viewHeight;
+
+    public ReplayScreen(SnakeGame game) {
+        this.game = game;
+        viewport = new FitViewport(1, 1, camera);
+        batch = game.getRenderContext().getBatch();
+        gameFont = game.getRenderContext().getFont();
+        renderer = new SnakeRenderer(game);
+    }
+
+    /** Loads the latest replay each visit; the last round may have been recorded since. */
+    @Override
+    public void show() {
+        player = null;
+        loadError = null;
+        try {
+            if (game.isRecordingRound()) {
+                loadError = "Finish the round in progress to watch it";
+            } else {
+                player = new ReplayPlayer(Replay.read(game.getReplayPath()));
+            }
+        } catch (NoSuchFileException e) {
+            loadError = "No replay yet - play a round first";
+        } catch (IOException e) {
+            loadError = "Could not load replay: " + e.getMessage();
+        }
+
+        int boardW = player != null ? player.getReplay().getWidth() : GameScreen.MAX_VIEW_CELLS;
+        int boardH = player != null ? player.getReplay().getHeight() : GameScreen.MAX_VIEW_CELLS;
+        viewWidth = Math.min(boardW, GameScreen.MAX_VIEW_CELLS) * CELL_SIZE;
+        viewHeight = Math.min(boardH, GameScreen.MAX_VIEW_CELLS) * CELL_SIZE;
+        hudMatrix.setToOrtho2D(0, 0, viewWidth, viewHeight);
+
+        viewport.setWorldSize(viewWidth, viewHeight);
+        viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        camera.position.set(viewWidth / 2f, viewHeight / 2f, 0);
+        camera.update();
+
+        gameFont.setScale(2f);
+        setSpeedIndex(0);
+        clock.reset();
+        paused = false;
+        slitherTime = 0;
+    }
+
+    @Override
+    public void render(float delta) {
+        if (!game.getAssets().isLoaded()) return;  // sprites still uploading
+        batch.setShader(game.getAssets().getSpriteShader());
+        Theme theme = game.getTheme();
+        if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
+            game.transitionTo(game.getMenuScreen(), TransitionScreen.Effect.FADE);
+            return;
+        }
+        ScreenUtils.clear(theme.getBackground().r, theme.getBackground().g, theme.getBackground().b, 1f);
+        if (player == null) {
+            viewport.apply();
+            batch.setProjectionMatrix(hudMatrix);
+            batch.begin();
+            gameFont.beginText(batch);
+            gameFont.setScale(1.8f);
+            gameFont.drawCenteredWithShadow(batch, loadError, viewWidth / 2, viewHeight / 2 + 20,
+                    GameFont.TEXT);
+            gameFont.drawCenteredWithShadow(batch, "Press ESC for menu", viewWidth / 2, viewHeight / 2 - 20,
+                    GameFont.TEXT_DIM);
+            gameFont.endText(batch);
+            batch.end();
+            return;
+        }
+
+        handleInput();
+        int speed = SPEEDS[speedIndex];
+        if (!paused && !player.isAtEnd()) {
+            int steps = clock.advance(delta);
+            for (int s = 0; s < steps && player.step(); s++) {
+                // only the last of these ticks gets drawn
+            }
+            if (speed <= SMOOTH_SPEED_LIMIT) slitherTime += delta;
+        }
+
+        SnakeSimulation sim = player.getSimulation();
+        boolean smooth = speed <= SMOOTH_SPEED_LIMIT && !paused && !player.isAtEnd();
+        float alpha = smooth ? clock.alpha() : 1f;
+
+        // Follow the head on boards larger than the view
+        float boardW = sim.getWidth() * CELL_SIZE;
+        float boardH = sim.getHeight() * CELL_SIZE;
+        float camX = boardW <= viewWidth ? boardW / 2
+                : MathUtils.clamp(SnakeRenderer.headX(sim, alpha), viewWidth / 2, boardW - viewWidth / 2);
+        float camY = boardH <= viewHeight ? boardH / 2
+                : MathUtils.clamp(SnakeRenderer.headY(sim, alpha), viewHeight / 2, boardH - viewHeight / 2);
+        camera.position.set(camX, camY, 0);
+        camera.update();
+        renderer.setView(camX - viewWidth / 2, camY - viewHeight / 2, viewWidth, viewHeight);
+        renderer.prepareBoard(batch, theme, sim.getWidth(), sim.getHeight(), viewport);
+        viewport.apply();
+
+        batch.setProjectionMatrix(camera.combined);
+        batch.begin();
+        renderer.drawBoard(batch, theme, sim.getWidth(), sim.getHeight());
+        renderer.drawFoodGlow(batch, sim, theme);
+        renderer.drawSnake(batch, sim, alpha, slitherTime, 1f);
+        renderer.drawFood(batch, sim);
+
+        // HUD - the timeline first, then all the text in one pass
+        batch.setProjectionMatrix(hudMatrix);
+        drawTimeline(theme);
+        gameFont.beginText(batch);
+        gameFont.setScale(2f);
+        text.setLength(0);
+        gameFont.drawWithShadow(batch, text.append("Score: ").append(sim.getScore()), 12, viewHeight - 12, GameFont.TEXT);
+        gameFont.setScale(1.5f);
+        text.setLength(0);
+        if (paused) text.append("REPLAY  paused");
+        else text.append("REPLAY  ").append(speed).append('x');
+        gameFont.drawWithShadow(batch, text, 12, viewHeight - 52, GameFont.GREEN);
+        text.setLength(0);
+        appendTime(text, player.getTick()).append(" / ");
+        appendTime(text, player.getEndTick());
+        gameFont.drawWithShadow(batch, text, 12, viewHeight - 82, GameFont.TEXT_DIM);
+        if (player.isDesynced()) {
+            gameFont.drawWithShadow(batch, "Replay does not match this version", 12, viewHeight - 112,
+                    GameFont.RED);
+        }
+        gameFont.setScale(1.1f);
+        gameFont.drawCenteredWithShadow(batch, "SPACE pause | UP/DOWN speed | LEFT/RIGHT seek | ESC menu",
+                viewWidth / 2, TIMELINE_MARGIN + TIMELINE_HEIGHT + 28, GameFont.TEXT_DIM);
+        gameFont.endText(batch);
+        batch.end();
+    }
+
+    private void handleInput() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
+            if (player.isAtEnd()) player.seek(0);
+            else paused = !paused;
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.UP)) {
+            setSpeedIndex(speedIndex + 1);
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.DOWN)) {
+            setSpeedIndex(speedIndex - 1);
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.RIGHT)) {
+            seek(player.getTick() + seekTicks());
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.LEFT)) {
+            seek(player.getTick() - seekTicks());
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.HOME)) {
+            seek(0);
+        }
+
+        // Click or drag on the timeline
+        if (Gdx.input.isTouched()) {
+            touch.set(Gdx.input.getX(), Gdx.input.getY(), 0);
+            viewport.unproject(touch);
+            // viewport world units match the HUD, only offset by the camera
+            float hx = touch.x - (camera.position.x - viewWidth / 2);
+            float hy = touch.y - (camera.position.y - viewHeight / 2);
+            float barWidth = viewWidth - TIMELINE_MARGIN * 2;
+            if (hy <= TIMELINE_MARGIN + TIMELINE_HEIGHT * 2 && hx >= TIMELINE_MARGIN - 8
+                    && hx <= TIMELINE_MARGIN + barWidth + 8) {
+                float t = MathUtils.clamp((hx - TIMELINE_MARGIN) / barWidth, 0f, 1f);
+                seek((long) (t * player.getEndTick()));
+            }
+        }
+    }
+
+    private void seek(long tick) {
+        player.seek(tick);
+        clock.reset();
+    }
+
+    /** SEEK_SECONDS of game time, scaled by speed so seeking stays useful at 1000x. */
+    private long seekTicks() {
+        return (long) (SEEK_SECONDS / SnakeSimulation.MOVE_INTERVAL) * Math.max(1, SPEEDS[speedIndex] / 10);
+    }
+
+    private void setSpeedIndex(int index) {
+        speedIndex = MathUtils.clamp(index, 0, SPEEDS.length - 1);
+        clock.setStep(SnakeSimulation.MOVE_INTERVAL / SPEEDS[speedIndex]);
+    }
+
+    private void drawTimeline(Theme theme) {
+        GameAssets assets = game.getAssets();
+        float barWidth = viewWidth - TIMELINE_MARGIN * 2;
+        float progress = player.getEndTick() == 0 ? 1f : (float) player.getTick() / player.getEndTick();
+        batch.setColor(0f, 0f, 0f, 0.5f);
+        batch.draw(assets.borderLine, TIMELINE_MARGIN, TIMELINE_MARGIN, barWidth, TIMELINE_HEIGHT);
+        batch.setColor(theme.getBorder());
+        batch.draw(assets.borderLine, TIMELINE_MARGIN, TIMELINE_MARGIN, barWidth * progress, TIMELINE_HEIGHT);
+        batch.setColor(1, 1, 1, 1);
+    }
+
+    /** Appends ticks as m:ss of play time. */
+    static StringBuilder appendTime(StringBuilder out, long ticks) {
+        int secs = (int) (ticks * SnakeSimulation.MOVE_INTERVAL);
+        out.append(secs / 60).append(':');
+        if (secs % 60 < 10) out.append('0');
+        return out.append(secs % 60);
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height);
+    }
+
+    @Override
+    public void pause() {}
+
+    @Override
+    public void resume() {}
+
+    @Override
+    public void hide() {}
+
+    @Override
+    public void dispose() {
+        renderer.dispose();
+    }
+}
@@ -0,0 +1,161 @@
+package com.SNAKEJAVAGAME;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * An in-progress round on disk, so closing or minimising the window never loses a run.
+ *
+ * The file is a fixed binary layout moved through a {@link FileChannel} in one buffer;
+ * the body goes in as one bulk int copy, so loading even a long snake is well under a
+ * millisecond. Writes run on the {@link BackgroundWriter} from a snapshot taken on the
+ * render thread, so pausing never waits for the disk. The file is never memory-mapped:
+ * on Windows a mapping that is still alive stops the file being replaced or deleted.
+ * <pre>
+ *   int    MAGIC 'SNKS', int VERSION
+ *   int    width, height
+ *   long   seed, rngState, tickCount
+ *   int    score, food, direction, nextDirection, queuedDirection, vacatedCell
+ *   int    flags (1 = game over, 2 = cleared, 4 = moved last tick)
+ *   float  playTime, clockAccumulator
+ *   int    length, then length packed cells (head first)
+ *   int    CRC32 of everything before it
+ * </pre>
+ * A save is written beside the file and moved over it, so a crash mid-write leaves the
+ * last good save; the CRC catches anything else that damages it.
+ */
+public class SaveGame {
+
+    public static final int MAGIC = 0x534E4B53; // "SNKS"
+    public static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 * 4 + 3 * 8 + 7 * 4 + 2 * 4 + 4;
+    private static final int FLAG_GAME_OVER = 1;
+    private static final int FLAG_CLEARED = 2;
+    private static final int FLAG_MOVED = 4;
+
+    private final SnakeSimulation.Snapshot snapshot;
+    private final float playTime;
+    private final float clockAccumulator;
+
+    public SaveGame(SnakeSimulation.Snapshot snapshot, float playTime, float clockAccumulator) {
+        this.snapshot = snapshot;
+        this.playTime = playTime;
+        this.clockAccumulator = clockAccumulator;
+    }
+
+    /** Writes the save on the background thread. The snapshot must not be reused by the caller. */
+    public static Future<?> writeAsync(Path file, SaveGame save) {
+        return BackgroundWriter.submit(() -> {
+            try {
+                write(file, save);
+            } catch (IOException e) {
+                System.err.println("Could not save game: " + e.getMessage());
+            }
+        });
+    }
+
+    /** Removes the save on the background thread, after any pending write of it. */
+    public static Future<?> deleteAsync(Path file) {
+        return BackgroundWriter.submit(() -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Could not delete save: " + e.getMessage());
+            }
+        });
+    }
+
+    public static void write(Path file, SaveGame save) throws IOException {
+        SnakeSimulation.Snapshot s = save.snapshot;
+        int size = HEADER_BYTES + s.length * 4 + 4;
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        buf.putInt(MAGIC).putInt(VERSION);
+        buf.putInt(s.width).putInt(s.height);
+        buf.putLong(s.seed).putLong(s.rngState).putLong(s.tickCount);
+        buf.putInt(s.score).putInt(s.food).putInt(s.direction).putInt(s.nextDirection)
+                .putInt(s.queuedDirection).putInt(s.vacatedCell);
+        buf.putInt((s.gameOver ? FLAG_GAME_OVER : 0) | (s.cleared ? FLAG_CLEARED : 0) | (s.moved ? FLAG_MOVED : 0));
+        buf.putFloat(save.playTime).putFloat(save.clockAccumulator);
+        buf.putInt(s.length);
+        buf.asIntBuffer().put(s.cells, 0, s.length);
+        buf.position(size - 4);
+        buf.putInt(crc(buf, size - 4));
+        buf.flip();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path partial = file.resolveSibling(file.getFileName() + ".part");
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) channel.write(buf);
+            channel.force(false);
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static SaveGame read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + 4 || size > Integer.MAX_VALUE) throw new IOException("Not a save file: " + file);
+            ByteBuffer buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining()) {
+                if (channel.read(buf) < 0) throw new IOException("Save is truncated: " + file);
+            }
+            buf.flip();
+            if (buf.getInt() != MAGIC) throw new IOException("Not a save file: " + file);
+            int version = buf.getInt();
+            if (version != VERSION) throw new IOException("Unsupported save version " + version);
+            if (buf.getInt((int) size - 4) != crc(buf, (int) size - 4)) throw new IOException("Save is corrupt: " + file);
+
+            SnakeSimulation.Snapshot s = new SnakeSimulation.Snapshot();
+            s.width = buf.getInt();
+            s.height = buf.getInt();
+            s.seed = buf.getLong();
+            s.rngState = buf.getLong();
+            s.tickCount = buf.getLong();
+            s.score = buf.getInt();
+            s.food = buf.getInt();
+            s.direction = buf.getInt();
+            s.nextDirection = buf.getInt();
+            s.queuedDirection = buf.getInt();
+            s.vacatedCell = buf.getInt();
+            int flags = buf.getInt();
+            s.gameOver = (flags & FLAG_GAME_OVER) != 0;
+            s.cleared = (flags & FLAG_CLEARED) != 0;
+            s.moved = (flags & FLAG_MOVED) != 0;
+            float playTime = buf.getFloat();
+            float clockAccumulator = buf.getFloat();
+            s.length = buf.getInt();
+            if (s.length < 1 || HEADER_BYTES + s.length * 4L + 4 != size) throw new IOException("Save is corrupt: " + file);
+            s.cells = new int[s.length];
+            buf.asIntBuffer().get(s.cells, 0, s.length);
+            long cells = (long) s.width * s.height;
+            for (int i = 0; i < s.length; i++) {
+                if (s.cells[i] < 0 || s.cells[i] >= cells) throw new IOException("Save is corrupt: " + file);
+            }
+            return new SaveGame(s, playTime, clockAccumulator);
+        }
+    }
+
+    private static int crc(ByteBuffer buf, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buf.duplicate().position(0).limit(length));
+        return (int) crc.getValue();
+    }
+
+    public SnakeSimulation.Snapshot getSnapshot() { return snapshot; }
+
+    public int getWidth() { return snapshot.width; }
+
+    public int getHeight() { return snapshot.height; }
+
+    public float getPlayTime() { return playTime; }
+
+    public float getClockAccumulator() { return clockAccumulator; }
+}
@@ -5,9 +5,18 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.MathUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Main game class - manages screens (Menu, Options, Game).
+ *
+ * Each screen is built once, on first use, and reused after: leaving a screen only hides
+ * it, and the GL objects they draw with live in one {@link RenderContext}. Screens are
+ * disposed when the game exits.
  */
 public class SnakeGame extends Game {
 
@@ -17,6 +26,9 @@ public class SnakeGame extends Game {
     public static final String PREF_HEIGHT = "height";
     public static final String PREF_THEME = "theme";
      public static final String PREF_HIGH_SCORE = "high_score";
+    public static final String PREF_BOARD_SIZE = "board_size";
+    public static final String REPLAY_FILE = "replays/last.replay";
+    public static final String SAVE_FILE = "saves/current.save";
 
     public static final int[][] WINDOW_SIZES = {
             {640, 640},
@@ -26,26 +38,94 @@ public class SnakeGame extends Game {
             {1920, 1080}
     };
 
+    private static final float TRANSITION_DURATION = 0.35f;
+
+    /** A screen change slower than this is logged as a hitch. */
+    private static final long HITCH_NANOS = 17_000_000L;
+
+    /** Square board sizes offered in Options; anything above 20 scrolls with a follow camera. */
+    public static final int[] BOARD_SIZES = {20, 64, 256, 1024, 4096};
+
     private Preferences prefs;
     private GameAssets assets;
+    private RenderContext context;
+    private MenuScreen menuScreen;
+    private OptionsScreen optionsScreen;
+    private GameScreen gameScreen;
+    private ArenaScreen arenaScreen;
+    private ReplayScreen replayScreen;
+    private Screen pendingScreen;  // changed to once this frame is drawn; see transitionTo
+    private TransitionScreen.Effect pendingEffect;
 
     @Override
     public void create() {
         prefs = Gdx.app.getPreferences(PREFS_NAME);
         assets = new GameAssets();
-        assets.load(getTheme());
+        assets.request(getTheme());  // the sprites arrive a few frames in; the menu does without until then
+
+        context = new RenderContext(Gdx.files.local(GameAssets.CACHE_DIR).file().toPath());
 
         applyDisplaySettings();
-        setScreen(new FadeInScreen(this, new MenuScreen(this), 0.35f));
+        // An unfinished run from last time goes straight back in, paused
+        Screen first = Files.exists(getSavePath()) ? getGameScreen() : getMenuScreen();
+        transitionTo(first, TransitionScreen.Effect.FADE);  // from black: nothing to capture yet
     }
 
+    /** Hides the current screen and shows screen; the old one is kept for reuse, not disposed. */
     @Override
     public void setScreen(Screen screen) {
-        Screen old = getScreen();
-        if (old != null) {
-            old.dispose();
-        }
+        long start = System.nanoTime();
         super.setScreen(screen);
+        long took = System.nanoTime() - start;
+        if (took > HITCH_NANOS) {
+            Gdx.app.log("SnakeGame", "Screen change took " + took / 1_000_000 + " ms");
+        }
+    }
+
+    /**
+     * Changes to next through a transition, blending the current screen out over it by
+     * effect. The change happens once this frame is drawn: the finished frame is copied as
+     * the capture, so the current screen is not rendered again for it. A later call in the
+     * same frame replaces this one. With no screen yet, next fades in from black now.
+     */
+    public void transitionTo(Screen next, TransitionScreen.Effect effect) {
+        if (getScreen() == null) {
+            Texture black = context.getTransitions().captureBlack();
+            setScreen(new TransitionScreen(this, next, black, effect, TRANSITION_DURATION));
+            return;
+        }
+        pendingScreen = next;
+        pendingEffect = effect;
+    }
+
+    /** Whether a round left for the menu is still being recorded, so its replay is not whole yet. */
+    public boolean isRecordingRound() {
+        return gameScreen != null && gameScreen.isRecording();
+    }
+
+    public MenuScreen getMenuScreen() {
+        if (menuScreen == null) menuScreen = new MenuScreen(this);
+        return menuScreen;
+    }
+
+    public OptionsScreen getOptionsScreen() {
+        if (optionsScreen == null) optionsScreen = new OptionsScreen(this);
+        return optionsScreen;
+    }
+
+    public GameScreen getGameScreen() {
+        if (gameScreen == null) gameScreen = new GameScreen(this);
+        return gameScreen;
+    }
+
+    public ArenaScreen getArenaScreen() {
+        if (arenaScreen == null) arenaScreen = new ArenaScreen(this);
+        return arenaScreen;
+    }
+
+    public ReplayScreen getReplayScreen() {
+        if (replayScreen == null) replayScreen = new ReplayScreen(this);
+        return replayScreen;
     }
 
     public Preferences getPreferences() {
@@ -56,6 +136,11 @@ public class SnakeGame extends Game {
         return assets;
     }
 
+    /** The batch, shapes and font every screen draws with. */
+    public RenderContext getRenderContext() {
+        return context;
+    }
+
     public Theme getTheme() {
         String name = prefs.getString(PREF_THEME, "CLASSIC");
         try {
@@ -65,6 +150,21 @@ public class SnakeGame extends Game {
         }
     }
 
+    /** Where the most recent run is recorded. */
+    public Path getReplayPath() {
+        return Gdx.files.local(REPLAY_FILE).file().toPath();
+    }
+
+    /** Where an unfinished run is kept between launches. */
+    public Path getSavePath() {
+        return Gdx.files.local(SAVE_FILE).file().toPath();
+    }
+
+    public int getBoardSize() {
+        int size = prefs.getInteger(PREF_BOARD_SIZE, BOARD_SIZES[0]);
+        return MathUtils.clamp(size, BOARD_SIZES[0], BOARD_SIZES[BOARD_SIZES.length - 1]);
+    }
+
     public int getHighScore() {
         return prefs.getInteger(PREF_HIGH_SCORE, 0);
     }
@@ -95,11 +195,28 @@ public class SnakeGame extends Game {
         Theme theme = getTheme();
         Gdx.gl.glClearColor(theme.getBackground().r, theme.getBackground().g, theme.getBackground().b, 1f);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        assets.update();
+        context.update();
         super.render();
+
+        // The frame just drawn is the last of the old screen, and what the transition starts from
+        if (pendingScreen != null) {
+            Texture outgoing = context.getTransitions().capture();
+            Screen next = pendingScreen;
+            pendingScreen = null;
+            setScreen(new TransitionScreen(this, next, outgoing, pendingEffect, TRANSITION_DURATION));
+        }
     }
 
     @Override
     public void dispose() {
+        // Hiding the screen saves a round; disposing the game screen finishes its replay
+        if (getScreen() != null) getScreen().hide();
+        for (Screen screen : new Screen[] {menuScreen, optionsScreen, gameScreen, arenaScreen, replayScreen}) {
+            if (screen != null) screen.dispose();
+        }
+        BackgroundWriter.awaitIdle();
         if (assets != null) assets.dispose();
+        if (context != null) context.dispose();
     }
 }
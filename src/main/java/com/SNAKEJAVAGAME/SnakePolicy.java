@@ -0,0 +1,23 @@
+package com.SNAKEJAVAGAME;
+
+/**
+ * A bot that steers a {@link SnakeSimulation} - used by headless batch runs.
+ * Implementations keep their own state (RNG, scratch buffers), one instance per worker.
+ */
+public interface SnakePolicy {
+
+    /** @return direction to request before the next tick, or {@link SnakeSimulation#NO_DIRECTION} to keep going */
+    int chooseTurn(SnakeSimulation sim);
+
+    /** Called when the simulation starts a new game with the given seed. */
+    default void reset(long seed) {}
+
+    static SnakePolicy forName(String name) {
+        return switch (name) {
+            case "greedy" -> new GreedyPolicy();
+            case "random" -> new RandomPolicy();
+            case "autopilot" -> new AutopilotPolicy();
+            default -> throw new IllegalArgumentException("Unknown policy: " + name);
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package com.SNAKEJAVAGAME;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Draws a {@link SnakeSimulation} board - food, snake sprites with slither, and the border -
+ * culled to the visible world rect. Shared by the game and replay screens. The background
+ * and border come from a {@link BoardLayer} cache.
+ */
+public class SnakeRenderer implements Disposable {
+
+    public static final int CELL_SIZE = 32;
+    private static final float FOOD_MARKER_SIZE = 16f;
+
+    private final SnakeGame game;
+    private final BoardLayer board;
+    private float viewLeft;    // visible world rect this frame
+    private float viewBottom;
+    private float viewWidth;
+    private float viewHeight;
+
+    public SnakeRenderer(SnakeGame game) {
+        this.game = game;
+        board = new BoardLayer(game);
+    }
+
+    /** Sets the visible world rect for culling; call once per frame before drawing. */
+    public void setView(float left, float bottom, float width, float height) {
+        viewLeft = left;
+        viewBottom = bottom;
+        viewWidth = width;
+        viewHeight = height;
+    }
+
+    /** Neon glow under the food - draw before the snake. */
+    public void drawFoodGlow(SpriteBatch batch, SnakeSimulation sim, Theme theme) {
+        GameAssets assets = game.getAssets();
+        if (theme != Theme.NEON || !sim.hasFood() || assets.glowTex == null) return;
+        float foodX = sim.getFoodX() * CELL_SIZE;
+        float foodY = sim.getFoodY() * CELL_SIZE;
+        if (!isVisible(foodX, foodY, CELL_SIZE, CELL_SIZE)) return;
+        float glowSize = CELL_SIZE * 2.5f;
+        batch.setColor(theme.getFood().r, theme.getFood().g, theme.getFood().b, 0.5f);
+        batch.draw(assets.glowTex, foodX - (glowSize - CELL_SIZE) / 2,
+                foodY - (glowSize - CELL_SIZE) / 2, glowSize, glowSize);
+        batch.setColor(1, 1, 1, 1);
+    }
+
+    /** Food, or an edge marker pointing at it when it is off screen on a large board. */
+    public void drawFood(SpriteBatch batch, SnakeSimulation sim) {
+        if (!sim.hasFood()) return;
+        GameAssets assets = game.getAssets();
+        float foodX = sim.getFoodX() * CELL_SIZE;
+        float foodY = sim.getFoodY() * CELL_SIZE;
+        if (isVisible(foodX, foodY, CELL_SIZE, CELL_SIZE)) {
+            batch.draw(assets.food, foodX, foodY, CELL_SIZE, CELL_SIZE);
+        } else {
+            float mx = MathUtils.clamp(foodX, viewLeft + 4, viewLeft + viewWidth - FOOD_MARKER_SIZE - 4);
+            float my = MathUtils.clamp(foodY, viewBottom + 4, viewBottom + viewHeight - FOOD_MARKER_SIZE - 4);
+            batch.setColor(1, 1, 1, 0.6f);
+            batch.draw(assets.food, mx, my, FOOD_MARKER_SIZE, FOOD_MARKER_SIZE);
+            batch.setColor(1, 1, 1, 1);
+        }
+    }
+
+    /**
+     * Draws the snake with smooth positions - walks the visible cells, not the body, so the
+     * cost depends on what is on screen rather than on snake length. The head goes last so
+     * it stays on top.
+     *
+     * @param alpha      interpolation between the previous and current tick
+     * @param slither    time driving the sine-wave slither
+     * @param headScale  squash/stretch of the head (1 = none)
+     */
+    public void drawSnake(SpriteBatch batch, SnakeSimulation sim, float alpha, float slither, float headScale) {
+        int minX = Math.max(0, (int) Math.floor(viewLeft / CELL_SIZE) - 1);
+        int minY = Math.max(0, (int) Math.floor(viewBottom / CELL_SIZE) - 1);
+        int maxX = Math.min(sim.getWidth() - 1, (int) ((viewLeft + viewWidth) / CELL_SIZE) + 1);
+        int maxY = Math.min(sim.getHeight() - 1, (int) ((viewBottom + viewHeight) / CELL_SIZE) + 1);
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                int i = sim.segmentIndexAt(x, y);
+                if (i > 0) drawSegment(batch, sim, i, alpha, slither, 1f);
+            }
+        }
+        drawSegment(batch, sim, 0, alpha, slither, headScale);
+    }
+
+    private void drawSegment(SpriteBatch batch, SnakeSimulation sim, int i, float alpha, float slither, float scale) {
+        GameAssets assets = game.getAssets();
+        float overlap = 2f;
+        float drawSize = CELL_SIZE + overlap * 2;
+        float drawOffset = -overlap;
+        int length = sim.length();
+
+        int cur = sim.cellAt(i);
+        int prev = sim.previousCellAt(i);
+        float px = lerpCell(sim.cellX(prev), sim.cellX(cur), alpha) + drawOffset;
+        float py = lerpCell(sim.cellY(prev), sim.cellY(cur), alpha) + drawOffset;
+
+        // Sine-wave slither: offset each segment slightly perpendicular to its direction
+        int localDir = sim.getSegmentDirection(i);
+        float wave = (float) Math.sin(slither * 6f + i * 0.6f);
+        float amplitude = 2.5f;
+        px += -SnakeSimulation.dy(localDir) * wave * amplitude;
+        py += SnakeSimulation.dx(localDir) * wave * amplitude;
+
+        float w = drawSize * scale;
+        float h = drawSize * scale;
+        float ox = (drawSize - w) / 2;
+        float oy = (drawSize - h) / 2;
+
+        if (i == 0) {
+            batch.draw(assets.snakeHead[sim.getDirection()], px + ox, py + oy, w, h);
+        } else if (i == length - 1) {
+            batch.draw(assets.snakeTail[sim.getTailDirection()], px + ox, py + oy, w, h);
+        } else {
+            int cornerIndex = sim.getCornerIndex(i);
+            if (cornerIndex != -1 && assets.snakeCorner != null) {
+                batch.draw(assets.snakeCorner[cornerIndex], px + ox, py + oy, w, h);
+            } else {
+                batch.draw(assets.snakeBody, px + ox, py + oy, w, h);
+            }
+        }
+    }
+
+    /**
+     * Renders the board chunks that came into view into the board cache. Call after
+     * setView and before the frame's batch.begin; apply the screen's viewport afterwards.
+     */
+    public void prepareBoard(SpriteBatch batch, Theme theme, int gridWidth, int gridHeight, Viewport viewport) {
+        float pixelsPerUnit = viewport.getScreenWidth() / viewport.getWorldWidth()
+                * Gdx.graphics.getBackBufferWidth() / Math.max(1, Gdx.graphics.getWidth());
+        board.prepare(batch, theme, gridWidth, gridHeight, viewLeft, viewBottom, viewWidth, viewHeight, pixelsPerUnit);
+    }
+
+    /** Background and border, from the board cache - draw before everything else on the board. */
+    public void drawBoard(SpriteBatch batch, Theme theme, int gridWidth, int gridHeight) {
+        board.draw(batch, theme, gridWidth, gridHeight);
+    }
+
+    /** World x of the (interpolated) head centre. */
+    public static float headX(SnakeSimulation sim, float alpha) {
+        return lerpCell(sim.cellX(sim.previousCellAt(0)), sim.xAt(0), alpha) + CELL_SIZE / 2f;
+    }
+
+    /** World y of the (interpolated) head centre. */
+    public static float headY(SnakeSimulation sim, float alpha) {
+        return lerpCell(sim.cellY(sim.previousCellAt(0)), sim.yAt(0), alpha) + CELL_SIZE / 2f;
+    }
+
+    public boolean isVisible(float x, float y, float w, float h) {
+        return x + w >= viewLeft && x <= viewLeft + viewWidth && y + h >= viewBottom && y <= viewBottom + viewHeight;
+    }
+
+    private static float lerpCell(int from, int to, float alpha) {
+        return (from + (to - from) * alpha) * CELL_SIZE;
+    }
+
+    @Override
+    public void dispose() {
+        board.dispose();
+    }
+}
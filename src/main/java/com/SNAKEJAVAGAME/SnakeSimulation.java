@@ -0,0 +1,494 @@
+package com.SNAKEJAVAGAME;
+
+import java.util.Arrays;
+
+/**
+ * Headless snake rules - movement, turn buffering, collisions, food and score.
+ * No libGDX graphics types, so it can be ticked from tests, benchmarks and batch runs.
+ *
+ * The body is a ring buffer of packed cell indices (y * width + x) with the head at
+ * segment 0, backed by a byte occupancy grid, so a tick is O(1) and allocation-free
+ * regardless of snake length. Free cells are counted per 64-cell block, and those counts
+ * summed per 64 blocks, a level at a time until a level has at most 64 blocks; food finds
+ * the k-th free cell by walking down that tree, at most 64 counts per level, so a spawn
+ * stays cheap on the biggest boards even when nearly full.
+ *
+ * Food placement comes from a seeded SplitMix64 stream whose whole state is one long,
+ * and depends only on which cells are occupied, so a run is fully determined by its
+ * seed and the turns requested at each tick, and a {@link Snapshot} of the body and
+ * RNG is enough to resume it exactly.
+ */
+public class SnakeSimulation {
+
+    public static final int UP = 0;
+    public static final int RIGHT = 1;
+    public static final int DOWN = 2;
+    public static final int LEFT = 3;
+    public static final int NO_DIRECTION = -1;
+
+    /** Result of {@link #tick()}. */
+    public static final int TICK_IDLE = 0;     // game already over, nothing happened
+    public static final int TICK_MOVED = 1;
+    public static final int TICK_ATE = 2;
+    public static final int TICK_CRASHED = 3;
+    public static final int TICK_CLEARED = 4;  // ate the last free cell - board cleared, round won
+
+    public static final float MOVE_INTERVAL = 0.12f;  // seconds per tick at normal speed
+    public static final int FOOD_SCORE = 10;
+    public static final int START_LENGTH = 3;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int BLOCK_SHIFT = 6;  // 64 cells per free-count block, 64 blocks per block above
+
+    /** Complete state of a round, for replay keyframes and save games. */
+    public static class Snapshot {
+        int width;
+        int height;
+        int[] cells = new int[0];  // body, head first
+        int length;
+        int vacatedCell;
+        boolean moved;
+        int food;
+        int direction;
+        int nextDirection;
+        int queuedDirection;
+        int score;
+        boolean gameOver;
+        boolean cleared;
+        long seed;
+        long rngState;
+        long tickCount;
+
+        public long getTickCount() { return tickCount; }
+    }
+
+    private final int width;
+    private final int height;
+    private final byte[] occupied;  // 1 = snake body on this cell
+    private final int[][] blockFree;  // free cells per block, level 0 = 64-cell blocks
+    private final int[] cellSerial; // push serial of the segment on each occupied cell
+    private int pushCount;
+    private int freeCount;
+    private long seed;
+    private long rngState;
+    private long tickCount;  // ticks since reset
+
+    private int[] body;  // ring buffer of packed cells, capacity is a power of two
+    private int mask;
+    private int headIndex;  // ring slot of segment 0
+    private int length;
+    private int vacatedCell;  // cell the tail left on the last tick, -1 if it did not move
+    private boolean moved;    // last tick advanced the body
+
+    private int food;  // packed cell, -1 when the board is full
+    private final TurnQueue turns = new TurnQueue();
+    private int score;
+    private boolean gameOver;
+    private boolean cleared;
+
+    public SnakeSimulation(int width, int height) {
+        this(width, height, System.nanoTime());
+    }
+
+    public SnakeSimulation(int width, int height, long seed) {
+        checkSize(width, height);
+        this.width = width;
+        this.height = height;
+        this.occupied = new byte[width * height];
+        int levels = 1;
+        for (int blocks = blockCount(width * height, 1); blocks > 1 << BLOCK_SHIFT; blocks = blockCount(blocks, 1)) {
+            levels++;
+        }
+        this.blockFree = new int[levels][];
+        for (int l = 0; l < levels; l++) blockFree[l] = new int[blockCount(width * height, l + 1)];
+        this.cellSerial = new int[width * height];
+        this.seed = seed;
+        this.body = new int[INITIAL_CAPACITY];
+        this.mask = INITIAL_CAPACITY - 1;
+        reset();
+    }
+
+    /** Reseeds the food RNG and starts a new round, so one instance can run many games. */
+    public void reset(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    /** Starts a new round with the current seed: 3 segments in the middle of the board, moving right. */
+    public void reset() {
+        rngState = seed;
+        tickCount = 0;
+        Arrays.fill(occupied, (byte) 0);
+        int cells = width * height;
+        for (int l = 0; l < blockFree.length; l++) {
+            int shift = BLOCK_SHIFT * (l + 1);
+            for (int b = 0; b < blockFree[l].length; b++) {
+                blockFree[l][b] = (int) Math.min(1L << shift, cells - ((long) b << shift));
+            }
+        }
+        freeCount = cells;
+        length = 0;
+        headIndex = 0;
+        vacatedCell = -1;
+        moved = false;
+        int cx = width / 2;
+        int cy = height / 2;
+        for (int i = START_LENGTH - 1; i >= 0; i--) {
+            pushHead(cell(cx - i, cy));
+        }
+
+        turns.reset(RIGHT);
+        score = 0;
+        gameOver = false;
+        cleared = false;
+
+        spawnFood();
+    }
+
+    /** Throws IllegalArgumentException unless a round fits on a width x height board. */
+    public static void checkSize(int width, int height) {
+        if (width / 2 < START_LENGTH - 1 || height < 1) {
+            throw new IllegalArgumentException("Board too small: " + width + "x" + height);
+        }
+        if ((long) width * height > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Board too large: " + width + "x" + height);
+        }
+    }
+
+    /**
+     * Buffers a turn. Uses nextDirection (planned direction) so fast combos like UP then LEFT work.
+     * @return true if the turn was accepted
+     */
+    public boolean requestTurn(int dir) {
+        return turns.request(dir);
+    }
+
+    /** Advances the game by one move. */
+    public int tick() {
+        if (gameOver) return TICK_IDLE;
+        tickCount++;
+        moved = false;
+        vacatedCell = -1;
+
+        int direction = turns.advance();
+        int head = body[headIndex];
+        int newX = head % width;
+        int newY = head / width;
+        switch (direction) {
+            case UP -> newY += 1;
+            case RIGHT -> newX += 1;
+            case DOWN -> newY -= 1;
+            case LEFT -> newX -= 1;
+        }
+
+        // Wall collision
+        if (newX < 0 || newX >= width || newY < 0 || newY >= height) {
+            gameOver = true;
+            return TICK_CRASHED;
+        }
+
+        // Self collision (the tail has not moved yet, so it still counts)
+        int newHead = cell(newX, newY);
+        if (occupied[newHead] != 0) {
+            gameOver = true;
+            return TICK_CRASHED;
+        }
+
+        pushHead(newHead);
+        moved = true;
+
+        if (newHead == food) {
+            score += FOOD_SCORE;
+            if (freeCount == 0) {
+                food = -1;
+                cleared = true;
+                gameOver = true;
+                return TICK_CLEARED;
+            }
+            spawnFood();
+            return TICK_ATE;
+        }
+        popTail();
+        return TICK_MOVED;
+    }
+
+    /**
+     * Uniform pick among free cells: the k-th one in board order, found by walking down the
+     * block counts from the top level. Package-private for benchmarks.
+     */
+    void spawnFood() {
+        int k = nextInt(freeCount);
+        int b = 0;
+        for (int l = blockFree.length - 1; l >= 0; l--) {
+            int[] free = blockFree[l];
+            while (k >= free[b]) k -= free[b++];
+            b <<= BLOCK_SHIFT;  // first block (or cell) inside it, one level down
+        }
+        int c = b;
+        while (occupied[c] != 0 || k-- > 0) c++;
+        food = c;
+    }
+
+    /** Copies the current state into a new snapshot. */
+    public Snapshot snapshot() {
+        Snapshot s = new Snapshot();
+        snapshot(s);
+        return s;
+    }
+
+    /** Copies the current state into s, reusing its body array when it is big enough. */
+    public void snapshot(Snapshot s) {
+        s.width = width;
+        s.height = height;
+        if (s.cells.length < length) s.cells = new int[body.length];
+        for (int i = 0; i < length; i++) s.cells[i] = cellAt(i);
+        s.length = length;
+        s.vacatedCell = vacatedCell;
+        s.moved = moved;
+        s.food = food;
+        s.direction = turns.direction();
+        s.nextDirection = turns.nextDirection();
+        s.queuedDirection = turns.queuedDirection();
+        s.score = score;
+        s.gameOver = gameOver;
+        s.cleared = cleared;
+        s.seed = seed;
+        s.rngState = rngState;
+        s.tickCount = tickCount;
+    }
+
+    /**
+     * Puts the round back into a snapshotted state. Only the old and new body cells are
+     * touched, so this is O(length) rather than O(board) and cheap enough for seeking.
+     */
+    public void restore(Snapshot s) {
+        if (s.width != width || s.height != height) {
+            throw new IllegalArgumentException("Snapshot is for a " + s.width + "x" + s.height + " board");
+        }
+        for (int i = 0; i < length; i++) {
+            int c = cellAt(i);
+            occupied[c] = 0;
+            addFree(c, 1);
+        }
+        length = 0;
+        headIndex = 0;
+        for (int i = s.length - 1; i >= 0; i--) {
+            pushHead(s.cells[i]);
+        }
+        vacatedCell = s.vacatedCell;
+        moved = s.moved;
+        food = s.food;
+        turns.restore(s.direction, s.nextDirection, s.queuedDirection);
+        score = s.score;
+        gameOver = s.gameOver;
+        cleared = s.cleared;
+        seed = s.seed;
+        rngState = s.rngState;
+        tickCount = s.tickCount;
+    }
+
+    /** SplitMix64 step. */
+    private long nextLong() {
+        long z = (rngState += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Uniform int in [0, bound) - multiply-shift on the top 32 bits. */
+    private int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    private void pushHead(int c) {
+        if (length == body.length) grow();
+        headIndex = (headIndex - 1) & mask;
+        body[headIndex] = c;
+        occupied[c] = 1;
+        cellSerial[c] = pushCount++;
+        addFree(c, -1);
+        length++;
+    }
+
+    private void popTail() {
+        int tailSlot = (headIndex + length - 1) & mask;
+        int c = body[tailSlot];
+        vacatedCell = c;
+        occupied[c] = 0;
+        addFree(c, 1);
+        length--;
+    }
+
+    /** Counts cell c as freed (1) or taken (-1) in its block at every level. */
+    private void addFree(int c, int delta) {
+        for (int[] free : blockFree) {
+            c >>= BLOCK_SHIFT;
+            free[c] += delta;
+        }
+        freeCount += delta;
+    }
+
+    /** Blocks needed to cover cells at the given level, 64 times as many cells per level up. */
+    private static int blockCount(int cells, int level) {
+        int shift = BLOCK_SHIFT * level;
+        return (int) ((cells + (1L << shift) - 1) >> shift);
+    }
+
+    private void grow() {
+        int[] bigger = new int[body.length * 2];
+        for (int i = 0; i < length; i++) {
+            bigger[i] = body[(headIndex + i) & mask];
+        }
+        body = bigger;
+        mask = bigger.length - 1;
+        headIndex = 0;
+    }
+
+    private int cell(int x, int y) {
+        return y * width + x;
+    }
+
+    // --- Queries ---
+
+    public int getWidth() { return width; }
+
+    public long getSeed() { return seed; }
+
+    /** Number of ticks since the round started - the time axis for recorded input. */
+    public long getTickCount() { return tickCount; }
+
+    public int getHeight() { return height; }
+
+    public int length() { return length; }
+
+    /** Packed cell of segment i (0 = head). */
+    public int cellAt(int i) {
+        return body[(headIndex + i) & mask];
+    }
+
+    /**
+     * Cell segment i occupied before the last tick, for render interpolation.
+     * Each segment slides into the cell of the one in front of it; a tail that just grew stays put.
+     */
+    public int previousCellAt(int i) {
+        if (!moved) return cellAt(i);
+        if (i < length - 1) return cellAt(i + 1);
+        return vacatedCell >= 0 ? vacatedCell : cellAt(i);
+    }
+
+    public int cellX(int cell) {
+        return cell % width;
+    }
+
+    public int cellY(int cell) {
+        return cell / width;
+    }
+
+    public int xAt(int i) {
+        return cellAt(i) % width;
+    }
+
+    public int yAt(int i) {
+        return cellAt(i) / width;
+    }
+
+    /** True if moving the head one cell in dir would hit a wall or the body (tail included). */
+    public boolean wouldCrash(int dir) {
+        int x = xAt(0) + dx(dir);
+        int y = yAt(0) + dy(dir);
+        return x < 0 || x >= width || y < 0 || y >= height || occupied[cell(x, y)] != 0;
+    }
+
+    public static int dx(int dir) {
+        return dir == RIGHT ? 1 : dir == LEFT ? -1 : 0;
+    }
+
+    public static int dy(int dir) {
+        return dir == UP ? 1 : dir == DOWN ? -1 : 0;
+    }
+
+    /**
+     * Segment index (0 = head) on the given cell, or -1 if empty. O(1), so renderers can walk
+     * visible cells instead of the whole body.
+     */
+    public int segmentIndexAt(int x, int y) {
+        if (!isSnakeAt(x, y)) return -1;
+        // Serials wrap, but the difference stays correct while length < 2^31
+        return pushCount - 1 - cellSerial[cell(x, y)];
+    }
+
+    public boolean isSnakeAt(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height && occupied[cell(x, y)] != 0;
+    }
+
+    /** Occupancy by packed cell, for searches that already work in cell indices. */
+    public boolean isOccupied(int cell) {
+        return occupied[cell] != 0;
+    }
+
+    /** Packed food cell, -1 when the board is full. */
+    public int getFoodCell() { return food; }
+
+    public boolean hasFood() { return food >= 0; }
+
+    public int getFoodX() { return food % width; }
+
+    public int getFoodY() { return food / width; }
+
+    public int getFreeCellCount() { return freeCount; }
+
+    public int getDirection() { return turns.direction(); }
+
+    public int getNextDirection() { return turns.nextDirection(); }
+
+    public int getQueuedDirection() { return turns.queuedDirection(); }
+
+    public int getScore() { return score; }
+
+    public boolean isGameOver() { return gameOver; }
+
+    /** True when the round ended because the snake filled the whole board. */
+    public boolean isCleared() { return cleared; }
+
+    /** Direction the tail sprite points (away from the segment in front of it). */
+    public int getTailDirection() {
+        return dirFromTo(cellAt(length - 2), cellAt(length - 1));
+    }
+
+    /** Direction segment i travels in, i.e. towards the segment in front of it. */
+    public int getSegmentDirection(int i) {
+        if (i == 0) return turns.direction();
+        return dirFromTo(cellAt(i), cellAt(i - 1));
+    }
+
+    /**
+     * @return -1 for straight, otherwise corner index:
+     * 0 = UP_RIGHT, 1 = RIGHT_DOWN, 2 = DOWN_LEFT, 3 = LEFT_UP
+     */
+    public int getCornerIndex(int bodyIndex) {
+        int cur = cellAt(bodyIndex);
+        int a = dirFromTo(cur, cellAt(bodyIndex - 1));
+        int b = dirFromTo(cur, cellAt(bodyIndex + 1));
+
+        if (a == b || isOpposite(a, b)) return -1;
+
+        int min = Math.min(a, b);
+        int max = Math.max(a, b);
+        if (min == 0 && max == 1) return 0; // UP+RIGHT
+        if (min == 1 && max == 2) return 1; // RIGHT+DOWN
+        if (min == 2 && max == 3) return 2; // DOWN+LEFT
+        return 3; // LEFT+UP (wrap)
+    }
+
+    /** Direction from one packed cell to an orthogonally adjacent one. */
+    public int dirFromTo(int from, int to) {
+        int d = to - from;
+        if (d == 1) return RIGHT;
+        if (d == -1) return LEFT;
+        if (d > 0) return UP;
+        return DOWN;
+    }
+
+    public static boolean isOpposite(int a, int b) {
+        return a != NO_DIRECTION && b != NO_DIRECTION && (a ^ 2) == b;
+    }
+}
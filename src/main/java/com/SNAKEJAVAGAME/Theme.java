@@ -4,63 +4,77 @@ import com.badlogic.gdx.graphics.Color;
 
 /**
  * Visual themes for the Snake game - AAA polish!
+ *
+ * Each theme's colours are built once and shared, so drawing a frame allocates none;
+ * callers must not modify the returned colours.
  */
 public enum Theme {
-    CLASSIC, NEON, DESERT;
+    // background, snake base, highlight, shadow, food, border, overlay
+    CLASSIC(new Color(0.06f, 0.1f, 0.06f, 1f),
+            new Color(0.18f, 0.58f, 0.25f, 1f),
+            new Color(0.35f, 0.8f, 0.45f, 0.5f),
+            new Color(0.08f, 0.35f, 0.12f, 0.4f),
+            new Color(0.9f, 0.2f, 0.2f, 1f),
+            new Color(0.3f, 0.9f, 0.4f, 1f),
+            new Color(0.05f, 0.08f, 0.05f, 0.75f)),
+    NEON(new Color(0.02f, 0.02f, 0.08f, 1f),
+            new Color(0.1f, 0.95f, 0.5f, 1f),
+            new Color(0.4f, 1f, 0.7f, 0.6f),
+            new Color(0.05f, 0.6f, 0.3f, 0.5f),
+            new Color(1f, 0.2f, 0.8f, 1f),
+            new Color(0.2f, 1f, 0.6f, 1f),
+            new Color(0.02f, 0.02f, 0.1f, 0.8f)),
+    DESERT(new Color(0.25f, 0.18f, 0.1f, 1f),
+            new Color(0.55f, 0.45f, 0.2f, 1f),
+            new Color(0.75f, 0.65f, 0.35f, 0.5f),
+            new Color(0.35f, 0.25f, 0.1f, 0.4f),
+            new Color(0.9f, 0.4f, 0.1f, 1f),
+            new Color(0.8f, 0.6f, 0.25f, 1f),
+            new Color(0.15f, 0.1f, 0.05f, 0.75f));
+
+    private final Color background;
+    private final Color snakeBase;
+    private final Color snakeHighlight;
+    private final Color snakeShadow;
+    private final Color food;
+    private final Color border;
+    private final Color overlay;
+
+    Theme(Color background, Color snakeBase, Color snakeHighlight, Color snakeShadow, Color food, Color border, Color overlay) {
+        this.background = background;
+        this.snakeBase = snakeBase;
+        this.snakeHighlight = snakeHighlight;
+        this.snakeShadow = snakeShadow;
+        this.food = food;
+        this.border = border;
+        this.overlay = overlay;
+    }
 
     public Color getBackground() {
-        return switch (this) {
-            case CLASSIC -> new Color(0.06f, 0.1f, 0.06f, 1f);
-            case NEON -> new Color(0.02f, 0.02f, 0.08f, 1f);
-            case DESERT -> new Color(0.25f, 0.18f, 0.1f, 1f);
-        };
+        return background;
     }
 
     public Color getSnakeBase() {
-        return switch (this) {
-            case CLASSIC -> new Color(0.18f, 0.58f, 0.25f, 1f);
-            case NEON -> new Color(0.1f, 0.95f, 0.5f, 1f);
-            case DESERT -> new Color(0.55f, 0.45f, 0.2f, 1f);
-        };
+        return snakeBase;
     }
 
     public Color getSnakeHighlight() {
-        return switch (this) {
-            case CLASSIC -> new Color(0.35f, 0.8f, 0.45f, 0.5f);
-            case NEON -> new Color(0.4f, 1f, 0.7f, 0.6f);
-            case DESERT -> new Color(0.75f, 0.65f, 0.35f, 0.5f);
-        };
+        return snakeHighlight;
     }
 
     public Color getSnakeShadow() {
-        return switch (this) {
-            case CLASSIC -> new Color(0.08f, 0.35f, 0.12f, 0.4f);
-            case NEON -> new Color(0.05f, 0.6f, 0.3f, 0.5f);
-            case DESERT -> new Color(0.35f, 0.25f, 0.1f, 0.4f);
-        };
+        return snakeShadow;
     }
 
     public Color getFood() {
-        return switch (this) {
-            case CLASSIC -> new Color(0.9f, 0.2f, 0.2f, 1f);
-            case NEON -> new Color(1f, 0.2f, 0.8f, 1f);
-            case DESERT -> new Color(0.9f, 0.4f, 0.1f, 1f);
-        };
+        return food;
     }
 
     public Color getBorder() {
-        return switch (this) {
-            case CLASSIC -> new Color(0.3f, 0.9f, 0.4f, 1f);
-            case NEON -> new Color(0.2f, 1f, 0.6f, 1f);
-            case DESERT -> new Color(0.8f, 0.6f, 0.25f, 1f);
-        };
+        return border;
     }
 
     public Color getOverlay() {
-        return switch (this) {
-            case CLASSIC -> new Color(0.05f, 0.08f, 0.05f, 0.75f);
-            case NEON -> new Color(0.02f, 0.02f, 0.1f, 0.8f);
-            case DESERT -> new Color(0.15f, 0.1f, 0.05f, 0.75f);
-        };
+        return overlay;
     }
 }
@@ -0,0 +1,127 @@
+package com.SNAKEJAVAGAME;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Copies a finished frame into an off-screen frame buffer and draws the copy back over the
+ * next screen as one full-window quad, for {@link TransitionScreen}.
+ *
+ * The copy comes from the window's back buffer once the frame is drawn, so the screen
+ * being left is never rendered again for it, and a transition that starts while another
+ * is still running is captured old capture and all. The window-sized buffer is rebuilt
+ * only when the window size changes. Every effect is the same quad through one shader,
+ * picked by a uniform.
+ */
+public class TransitionRenderer implements Disposable {
+
+    private static final String FRAGMENT_SHADER = ""
+            + "#ifdef GL_ES\n"
+            + "precision highp float;\n"  // the dissolve noise needs the precision
+            + "#endif\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "uniform int u_effect;\n"       // TransitionScreen.Effect ordinal
+            + "uniform float u_progress;\n"   // 0 showing the capture, 1 gone
+            + "void main() {\n"
+            + "    vec2 uv = v_texCoords;\n"
+            + "    float alpha = 1.0 - u_progress;\n"
+            + "    if (u_effect == 1) {\n"  // slide: the capture moves out to the left
+            + "        uv.x += u_progress;\n"
+            + "        alpha = step(uv.x, 1.0);\n"
+            + "    } else if (u_effect == 2) {\n"  // dissolve: 3 px cells drop out in random order
+            + "        float noise = fract(sin(dot(floor(gl_FragCoord.xy / 3.0), vec2(12.9898, 78.233))) * 43758.5453);\n"
+            + "        alpha = smoothstep(u_progress * 1.1 - 0.1, u_progress * 1.1, noise);\n"
+            + "    }\n"
+            + "    gl_FragColor = vec4(texture2D(u_texture, uv).rgb, alpha);\n"  // buffer alpha is not coverage
+            + "}\n";
+
+    private FrameBuffer buffer;
+    private final Matrix4 projection = new Matrix4().setToOrtho2D(0, 0, 1, 1);
+    private ShaderProgram shader;  // null: every effect falls back to a plain fade
+
+    public TransitionRenderer() {
+        ShaderProgram program = new ShaderProgram(PaletteShader.VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!program.isCompiled()) {
+            System.err.println("Transition shader failed, transitions will only fade: " + program.getLog());
+            program.dispose();
+            return;
+        }
+        shader = program;
+    }
+
+    /**
+     * Copies what the window shows this frame into the buffer and returns its texture. Call
+     * once the frame is drawn, with the window's own frame buffer bound; the capture drawn
+     * so far is replaced. Null if frame buffers are not available.
+     */
+    public Texture capture() {
+        if (!ensureBuffer()) return null;
+        Texture texture = buffer.getColorBufferTexture();
+        texture.bind();
+        Gdx.gl.glCopyTexSubImage2D(GL20.GL_TEXTURE_2D, 0, 0, 0, 0, 0, buffer.getWidth(), buffer.getHeight());
+        return texture;
+    }
+
+    /** A capture of plain black, for a transition with no frame before it. Not during a frame. */
+    public Texture captureBlack() {
+        if (!ensureBuffer()) return null;
+        buffer.begin();
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        buffer.end();
+        return buffer.getColorBufferTexture();
+    }
+
+    /** A buffer the size of the window, made as needed. False if there can be none. */
+    private boolean ensureBuffer() {
+        int width = Gdx.graphics.getBackBufferWidth();
+        int height = Gdx.graphics.getBackBufferHeight();
+        if (width <= 0 || height <= 0) return false;  // minimised
+        if (buffer != null && buffer.getWidth() == width && buffer.getHeight() == height) return true;
+        if (buffer != null) buffer.dispose();
+        buffer = null;
+        try {
+            buffer = new FrameBuffer(Pixmap.Format.RGB888, width, height, false);
+        } catch (GdxRuntimeException e) {
+            System.err.println("Could not capture the screen for a transition: " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /** Draws capture over the whole window, progress of the way through effect. */
+    public void draw(SpriteBatch batch, Texture capture, TransitionScreen.Effect effect, float progress) {
+        Gdx.gl.glViewport(0, 0, Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+        batch.setProjectionMatrix(projection);
+        batch.setShader(shader);  // null puts back the default, for the plain fade
+        batch.begin();
+        if (shader != null) {
+            shader.setUniformi("u_effect", effect.ordinal());
+            shader.setUniformf("u_progress", progress);
+        } else {
+            batch.setColor(1, 1, 1, 1 - progress);
+        }
+        batch.draw(capture, 0, 0, 1, 1, 0, 0, 1, 1);  // frame buffers are bottom row first, unlike images
+        batch.end();
+        batch.setColor(Color.WHITE);
+    }
+
+    @Override
+    public void dispose() {
+        if (buffer != null) buffer.dispose();
+        buffer = null;
+        if (shader != null) shader.dispose();
+        shader = null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.SNAKEJAVAGAME;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.Interpolation;
+
+/**
+ * Wraps the screen being changed to, blending out a capture of the screen being left.
+ * Use through {@link SnakeGame#transitionTo}.
+ *
+ * The last frame of the outgoing screen was copied into a texture when the transition
+ * started; each frame the incoming screen runs live and the capture is drawn over it as a
+ * single quad, so the old screen is never drawn again. The wrapped screen is shown and hidden with this
+ * one but not disposed; screens are reused.
+ */
+public class TransitionScreen implements Screen {
+
+    /** How the captured screen gives way to the new one. */
+    public enum Effect {
+        FADE,
+        SLIDE,
+        DISSOLVE
+    }
+
+    private final Screen inner;
+    private final Texture outgoing;  // null: a plain cut
+    private final Effect effect;
+    private final float duration;
+    private final TransitionRenderer renderer;
+    private final RenderContext context;
+    private float elapsed;
+
+    public TransitionScreen(SnakeGame game, Screen inner, Texture outgoing, Effect effect, float duration) {
+        this.inner = inner;
+        this.outgoing = outgoing;
+        this.effect = effect;
+        this.duration = duration;
+        this.context = game.getRenderContext();
+        this.renderer = context.getTransitions();
+    }
+
+    @Override
+    public void show() {
+        inner.show();
+    }
+
+    @Override
+    public void render(float delta) {
+        inner.render(delta);
+
+        elapsed += delta;
+        if (outgoing != null && elapsed < duration) {
+            float progress = Interpolation.smooth.apply(elapsed / duration);
+            renderer.draw(context.getBatch(), outgoing, effect, progress);
+        }
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        inner.resize(width, height);
+    }
+
+    @Override
+    public void pause() { inner.pause(); }
+
+    @Override
+    public void resume() { inner.resume(); }
+
+    @Override
+    public void hide() { inner.hide(); }
+
+    @Override
+    public void dispose() {}
+}
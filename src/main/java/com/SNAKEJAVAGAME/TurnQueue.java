@@ -0,0 +1,53 @@
+package com.SNAKEJAVAGAME;
+
+/**
+ * A snake's heading plus the turns pressed before it next moves. A turn is checked against
+ * the planned direction rather than the current one, and a second turn waits a tick, so
+ * fast combos like UP then LEFT both land instead of the second replacing the first.
+ */
+final class TurnQueue {
+
+    private int direction;
+    private int nextDirection;
+    private int queuedDirection; // second buffered turn (for fast combos)
+
+    void reset(int dir) {
+        restore(dir, dir, SnakeSimulation.NO_DIRECTION);
+    }
+
+    void restore(int direction, int nextDirection, int queuedDirection) {
+        this.direction = direction;
+        this.nextDirection = nextDirection;
+        this.queuedDirection = queuedDirection;
+    }
+
+    /** @return true if the turn was accepted */
+    boolean request(int dir) {
+        if (dir == nextDirection) return false;
+        if (SnakeSimulation.isOpposite(dir, nextDirection)) return false;
+
+        if (nextDirection == direction) {
+            nextDirection = dir;
+        } else {
+            queuedDirection = dir;
+        }
+        return true;
+    }
+
+    /** Commits the planned direction for this tick's move and returns it. */
+    int advance() {
+        direction = nextDirection;
+        // Apply second buffered turn after we commit the first.
+        if (queuedDirection != SnakeSimulation.NO_DIRECTION && !SnakeSimulation.isOpposite(queuedDirection, direction)) {
+            nextDirection = queuedDirection;
+        }
+        queuedDirection = SnakeSimulation.NO_DIRECTION;
+        return direction;
+    }
+
+    int direction() { return direction; }
+
+    int nextDirection() { return nextDirection; }
+
+    int queuedDirection() { return queuedDirection; }
+}
@@ -0,0 +1,54 @@
+package com.SNAKEJAVAGAME;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ParticleKernel} on the incubating Vector API: one lane per particle, so 8 (AVX2)
+ * or 16 (AVX-512) particles per instruction, with a scalar loop for the remainder.
+ * Only loaded through {@link ParticleKernel#detect()}.
+ */
+public final class VectorParticleKernel implements ParticleKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    public VectorParticleKernel() {
+        // narrower than 4 lanes means no real SIMD - the API would only emulate it
+        if (SPECIES.length() < 4) throw new UnsupportedOperationException("No usable float vectors");
+    }
+
+    @Override
+    public boolean integrate(float[] x, float[] y, float[] vx, float[] vy, float[] life, int count, float delta, float drag) {
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(count);
+        VectorMask<Float> dead = SPECIES.maskAll(false);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            FloatVector vxs = FloatVector.fromArray(SPECIES, vx, i);
+            FloatVector vys = FloatVector.fromArray(SPECIES, vy, i);
+            // mul then add, not fma, to round exactly like the scalar loop
+            FloatVector.fromArray(SPECIES, x, i).add(vxs.mul(delta)).intoArray(x, i);
+            FloatVector.fromArray(SPECIES, y, i).add(vys.mul(delta)).intoArray(y, i);
+            vxs.mul(drag).intoArray(vx, i);
+            vys.mul(drag).intoArray(vy, i);
+            FloatVector lives = FloatVector.fromArray(SPECIES, life, i).sub(delta);
+            lives.intoArray(life, i);
+            dead = dead.or(lives.compare(VectorOperators.LE, 0f));
+        }
+        boolean anyDead = dead.anyTrue();
+        for (; i < count; i++) {
+            x[i] += vx[i] * delta;
+            y[i] += vy[i] * delta;
+            vx[i] *= drag;
+            vy[i] *= drag;
+            life[i] -= delta;
+            anyDead |= life[i] <= 0;
+        }
+        return anyDead;
+    }
+
+    @Override
+    public String getName() { return "vector" + SPECIES.length(); }
+}
@@ -0,0 +1,97 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Arena ticks must be deterministic whether the phases run in parallel or not, and the
+ * player's snake must go only where it is steered.
+ */
+public class ArenaSimulationTest {
+
+    private static long boardHash(ArenaSimulation arena) {
+        long h = 17;
+        for (int y = 0; y < arena.getHeight(); y++) {
+            for (int x = 0; x < arena.getWidth(); x++) {
+                h = h * 31 + arena.ownerAt(x, y);
+                h = h * 31 + (arena.isFoodAt(x, y) ? 1 : 0);
+            }
+        }
+        return h;
+    }
+
+    @Test
+    public void parallelMatchesSequential() {
+        ArenaSimulation sequential = new ArenaSimulation(128, 128, 1500, 99L);
+        ArenaSimulation parallel = new ArenaSimulation(128, 128, 1500, 99L);
+        sequential.setParallel(false);
+        for (int t = 0; t < 200; t++) {
+            sequential.tick();
+            parallel.tick();
+        }
+        assertEquals(boardHash(sequential), boardHash(parallel));
+        assertEquals(sequential.getDeaths(), parallel.getDeaths());
+        assertTrue(sequential.getDeaths() > 0, "crowded arena should see collisions");
+    }
+
+    @Test
+    public void gridMatchesSnakeBodies() {
+        ArenaSimulation arena = new ArenaSimulation(64, 64, 300, 5L);
+        for (int t = 0; t < 150; t++) arena.tick();
+
+        int[] cellsPerSnake = new int[arena.getSnakeCount()];
+        for (int y = 0; y < arena.getHeight(); y++) {
+            for (int x = 0; x < arena.getWidth(); x++) {
+                int owner = arena.ownerAt(x, y);
+                if (owner >= 0) cellsPerSnake[owner]++;
+            }
+        }
+        for (int s = 0; s < arena.getSnakeCount(); s++) {
+            assertEquals(arena.isAlive(s) ? arena.getLength(s) : 0, cellsPerSnake[s], "snake " + s);
+        }
+    }
+
+    @Test
+    public void playerSnakeKeepsItsHeading() {
+        ArenaSimulation arena = new ArenaSimulation(64, 64, 1, 3L);
+        int heading = SnakeSimulation.RIGHT;
+        for (int t = 0; t < 60; t++) {
+            int head = arena.getHeadCell(ArenaSimulation.PLAYER);
+            int x = head % 64;
+            int y = head / 64;
+            // Steer only to stay off the walls; between turns there is no input at all
+            int aheadX = x + 2 * SnakeSimulation.dx(heading);
+            int aheadY = y + 2 * SnakeSimulation.dy(heading);
+            if (aheadX < 0 || aheadX >= 64 || aheadY < 0 || aheadY >= 64) {
+                boolean vertical = SnakeSimulation.dx(heading) != 0;
+                heading = vertical ? (y < 32 ? SnakeSimulation.UP : SnakeSimulation.DOWN)
+                        : (x < 32 ? SnakeSimulation.RIGHT : SnakeSimulation.LEFT);
+                arena.requestTurn(heading);
+            }
+            arena.tick();
+            assertTrue(arena.isAlive(ArenaSimulation.PLAYER), "tick " + t);
+            assertEquals(heading, arena.getDirection(ArenaSimulation.PLAYER), "tick " + t);
+            int moved = arena.getHeadCell(ArenaSimulation.PLAYER);
+            assertEquals(x + SnakeSimulation.dx(heading), moved % 64, "tick " + t);
+            assertEquals(y + SnakeSimulation.dy(heading), moved / 64, "tick " + t);
+        }
+    }
+
+    @Test
+    public void playerTakesTwoQuickTurnsOnConsecutiveTicks() {
+        ArenaSimulation arena = new ArenaSimulation(64, 64, 1, 3L);
+        int head = arena.getHeadCell(ArenaSimulation.PLAYER);
+
+        // heading right, UP then LEFT before the next tick: a U-turn over two ticks
+        assertTrue(arena.requestTurn(SnakeSimulation.UP));
+        assertTrue(arena.requestTurn(SnakeSimulation.LEFT));
+        arena.tick();
+        assertEquals(SnakeSimulation.UP, arena.getDirection(ArenaSimulation.PLAYER));
+        arena.tick();
+        assertEquals(SnakeSimulation.LEFT, arena.getDirection(ArenaSimulation.PLAYER));
+        assertTrue(arena.isAlive(ArenaSimulation.PLAYER));
+        assertEquals(head + 64 - 1, arena.getHeadCell(ArenaSimulation.PLAYER));
+    }
+}
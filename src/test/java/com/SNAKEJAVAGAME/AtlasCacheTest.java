@@ -0,0 +1,88 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.badlogic.gdx.graphics.Color;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * A cached atlas must come back byte for byte, keys must tell palettes apart, and a cache
+ * for other sprites or a damaged file must be refused.
+ */
+public class AtlasCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private static AtlasCache sample(long key) {
+        ByteBuffer pixels = ByteBuffer.allocate(8 * 4 * 4);
+        for (int i = 0; pixels.hasRemaining(); i++) pixels.put((byte) (i * 7));
+        pixels.flip();
+        return new AtlasCache(key, 8, 4, new String[] {"food", "snake_head"}, new int[] {-1, 2},
+                new int[] {1, 1, 2, 2, 4, 0, 4, 4}, pixels);
+    }
+
+    @Test
+    public void roundTrips() throws Exception {
+        Path file = AtlasCache.file(dir, 42L);
+        AtlasCache original = sample(42L);
+        AtlasCache.writeAsync(file, original).get();
+
+        AtlasCache read = AtlasCache.read(file, 42L);
+        assertEquals(8, read.getWidth());
+        assertEquals(4, read.getHeight());
+        assertEquals(2, read.getRegionCount());
+        assertEquals("snake_head", read.getName(1));
+        assertEquals(2, read.getIndex(1));
+        assertEquals(4, read.getX(1));
+        assertEquals(4, read.getRegionHeight(1));
+        assertEquals(original.getPixels(), read.getPixels());
+    }
+
+    @Test
+    public void replacesAFileWhoseCacheIsStillHeld() throws Exception {
+        Path file = AtlasCache.file(dir, 42L);
+        AtlasCache.write(file, sample(42L));
+        AtlasCache held = AtlasCache.read(file, 42L);
+
+        // the game keeps its pages for baking themes while a new atlas is written over them
+        ByteBuffer pixels = ByteBuffer.allocate(8 * 4 * 4);
+        AtlasCache.write(file, new AtlasCache(42L, 8, 4, new String[0], new int[0], new int[0], pixels));
+        assertEquals(0, AtlasCache.read(file, 42L).getRegionCount());
+        assertEquals(sample(42L).getPixels(), held.getPixels());
+    }
+
+    @Test
+    public void keysSeparateThemesAndGenerators() {
+        long classic = key(Theme.CLASSIC, 1);
+        assertEquals(classic, key(Theme.CLASSIC, 1));
+        assertNotEquals(classic, key(Theme.NEON, 1));
+        assertNotEquals(classic, key(Theme.DESERT, 1));
+        assertNotEquals(classic, key(Theme.CLASSIC, 2));
+    }
+
+    private static long key(Theme theme, int version) {
+        return AtlasCache.key(version, new Color[] {theme.getSnakeBase(), theme.getFood()});
+    }
+
+    @Test
+    public void refusesOtherKeysAndDamage() throws Exception {
+        Path file = dir.resolve("atlas.bin");
+        AtlasCache.write(file, sample(7L));
+        assertThrows(IOException.class, () -> AtlasCache.read(file, 8L));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 20] ^= 0x01;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> AtlasCache.read(file, 7L));
+    }
+}
@@ -0,0 +1,69 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The autopilot must play far better than greedy, walk a valid Hamiltonian cycle and
+ * search without allocating.
+ */
+public class AutopilotPolicyTest {
+
+    @Test
+    public void outscoresGreedy() {
+        BatchSimulator.Stats greedy = BatchSimulator.run(BatchSimulator.Options.parse(new String[] {
+                "--games", "50", "--size", "12", "--policy", "greedy", "--threads", "1"}));
+        BatchSimulator.Stats autopilot = BatchSimulator.run(BatchSimulator.Options.parse(new String[] {
+                "--games", "50", "--size", "12", "--policy", "autopilot", "--threads", "1"}));
+        assertTrue(autopilot.getMeanScore() > 2 * greedy.getMeanScore(),
+                autopilot.getMeanScore() + " vs greedy " + greedy.getMeanScore());
+        assertTrue(autopilot.getCleared() > 0);
+    }
+
+    @Test
+    public void cycleVisitsEveryCellOnce() {
+        int[][] sizes = {{4, 2}, {5, 4}, {4, 5}, {6, 6}};
+        for (int[] size : sizes) {
+            int w = size[0];
+            int h = size[1];
+            int[] next = AutopilotPolicy.buildCycle(w, h);
+            boolean[] seen = new boolean[w * h];
+            int c = 0;
+            for (int i = 0; i < w * h; i++) {
+                assertTrue(!seen[c], "revisited " + c + " on " + w + "x" + h);
+                seen[c] = true;
+                int n = next[c];
+                assertEquals(1, Math.abs(n % w - c % w) + Math.abs(n / w - c / w), "not adjacent on " + w + "x" + h);
+                c = n;
+            }
+            assertEquals(0, c);
+        }
+        assertNull(AutopilotPolicy.buildCycle(5, 5));
+    }
+
+    @Test
+    public void searchDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        SnakeSimulation sim = new SnakeSimulation(64, 64, 8L);
+        AutopilotPolicy policy = new AutopilotPolicy();
+        playTicks(sim, policy, 2000);  // warm up and size the buffers
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        playTicks(sim, policy, 5000);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertTrue(allocated < 4096, allocated + " bytes allocated");
+    }
+
+    private static void playTicks(SnakeSimulation sim, SnakePolicy policy, int ticks) {
+        for (int t = 0; t < ticks && !sim.isGameOver(); t++) {
+            int dir = policy.chooseTurn(sim);
+            if (dir != SnakeSimulation.NO_DIRECTION) sim.requestTurn(dir);
+            sim.tick();
+        }
+    }
+}
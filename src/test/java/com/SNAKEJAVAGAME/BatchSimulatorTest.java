@@ -0,0 +1,46 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Batch runs must be reproducible and independent of how work is split across threads.
+ */
+public class BatchSimulatorTest {
+
+    private static BatchSimulator.Stats run(String policy, int threads) {
+        BatchSimulator.Options o = BatchSimulator.Options.parse(new String[] {
+                "--headless", "--games", "2000", "--seed", "42", "--policy", policy, "--threads", String.valueOf(threads)});
+        return BatchSimulator.run(o);
+    }
+
+    @Test
+    public void resultsDoNotDependOnThreadCount() {
+        BatchSimulator.Stats single = run("greedy", 1);
+        BatchSimulator.Stats parallel = run("greedy", 4);
+        assertEquals(2000, single.getGames());
+        assertEquals(single.getTicks(), parallel.getTicks());
+        assertEquals(single.getMeanScore(), parallel.getMeanScore());
+        assertEquals(single.getMaxScore(), parallel.getMaxScore());
+    }
+
+    @Test
+    public void greedyBeatsRandom() {
+        assertTrue(run("greedy", 2).getMeanScore() > run("random", 2).getMeanScore());
+    }
+
+    @Test
+    public void rejectsUnknownOptions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchSimulator.Options.parse(new String[] {"--headless", "--policy", "psychic"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchSimulator.Options.parse(new String[] {"--headless", "--games"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchSimulator.Options.parse(new String[] {"--headless", "--size", "2"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchSimulator.Options.parse(new String[] {"--headless", "--width", "100000", "--height", "100000"}));
+    }
+}
@@ -0,0 +1,99 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The slot bookkeeping of BoardLayer's page: chunks stay where they were rendered while
+ * they are drawn, and the one drawn longest ago makes room for a new one.
+ */
+public class ChunkSlotsTest {
+
+    @Test
+    public void findsCachedChunks() {
+        ChunkSlots slots = new ChunkSlots(4);
+        slots.nextFrame();
+        assertEquals(-1, slots.find(0, 0));
+        int slot = slots.allocate(-3, 7);
+        assertEquals(-3, slots.chunkX(slot));
+        assertEquals(7, slots.chunkY(slot));
+
+        slots.nextFrame();
+        assertEquals(slot, slots.find(-3, 7));
+        assertEquals(-1, slots.find(7, -3));
+    }
+
+    @Test
+    public void fillsEmptySlotsBeforeReusing() {
+        ChunkSlots slots = new ChunkSlots(4);
+        slots.nextFrame();
+        boolean[] used = new boolean[4];
+        for (int i = 0; i < 4; i++) {
+            int slot = slots.allocate(i, 0);
+            assertEquals(false, used[slot]);
+            used[slot] = true;
+        }
+        for (int i = 0; i < 4; i++) {
+            assertNotEquals(-1, slots.find(i, 0));
+        }
+    }
+
+    @Test
+    public void reusesTheLeastRecentlyDrawnSlot() {
+        ChunkSlots slots = new ChunkSlots(4);
+        slots.nextFrame();
+        for (int i = 0; i < 4; i++) slots.allocate(i, 0);
+
+        // chunks 1 and 3 stay in view, then 0, 2 and 3; chunk 1 is now the oldest
+        slots.nextFrame();
+        slots.find(1, 0);
+        slots.find(3, 0);
+        slots.nextFrame();
+        slots.find(0, 0);
+        slots.find(2, 0);
+        slots.find(3, 0);
+        int old = slots.find(1, 0);
+        slots.nextFrame();
+        slots.find(0, 0);
+        slots.find(2, 0);
+        slots.find(3, 0);
+
+        assertEquals(old, slots.allocate(9, 9));
+        assertEquals(-1, slots.find(1, 0));
+        for (int i : new int[] {0, 2, 3}) {
+            assertNotEquals(-1, slots.find(i, 0));
+        }
+    }
+
+    @Test
+    public void neverTakesASlotDrawnThisFrame() {
+        ChunkSlots slots = new ChunkSlots(4);
+        for (int frame = 0; frame < 50; frame++) {
+            // a view of three chunks scrolling one chunk to the right every frame
+            slots.nextFrame();
+            int[] inView = new int[3];
+            for (int i = 0; i < 3; i++) {
+                int cx = frame + i;
+                int slot = slots.find(cx, 0);
+                if (slot < 0) slot = slots.allocate(cx, 0);
+                inView[i] = slot;
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals(frame + i, slots.chunkX(inView[i]));
+            }
+        }
+    }
+
+    @Test
+    public void clearForgetsEveryChunk() {
+        ChunkSlots slots = new ChunkSlots(4);
+        slots.nextFrame();
+        slots.allocate(0, 0);
+        slots.allocate(1, 1);
+        slots.clear();
+        assertEquals(-1, slots.find(0, 0));
+        assertEquals(-1, slots.find(1, 1));
+    }
+}
@@ -0,0 +1,42 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Fixed-step scheduling must give the same game speed at any frame rate.
+ */
+public class FixedStepClockTest {
+
+    @Test
+    public void tickRateIsIndependentOfFrameRate() {
+        int[] rates = {30, 60, 144, 240};
+        for (int hz : rates) {
+            FixedStepClock clock = new FixedStepClock(SnakeSimulation.MOVE_INTERVAL);
+            int ticks = 0;
+            float frame = 1f / hz;
+            for (int f = 0; f < hz * 60; f++) {
+                ticks += clock.advance(frame);
+            }
+            // 60 seconds at 0.12 s per tick = 500 ticks, allow one for float rounding
+            assertTrue(Math.abs(ticks - 500) <= 1, hz + " Hz gave " + ticks + " ticks");
+        }
+    }
+
+    @Test
+    public void catchesUpSeveralTicksAfterHitch() {
+        FixedStepClock clock = new FixedStepClock(0.1f, 8);
+        assertEquals(3, clock.advance(0.35f));
+        assertEquals(0.5f, clock.alpha(), 1e-4f);
+    }
+
+    @Test
+    public void dropsTimeBeyondCatchUpCap() {
+        FixedStepClock clock = new FixedStepClock(0.1f, 4);
+        assertEquals(4, clock.advance(5.05f));
+        assertEquals(0.5f, clock.alpha(), 1e-3f);
+        assertEquals(0, clock.advance(0.01f));
+    }
+}
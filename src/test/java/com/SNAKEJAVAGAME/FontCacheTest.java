@@ -0,0 +1,62 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The generated font must load as a libGDX BitmapFont with every printable character and
+ * the default font's metrics at the nominal scale, be reused once on disk, and encode the
+ * outline at half alpha.
+ */
+public class FontCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void generatesALoadableFont() throws Exception {
+        Path fnt = FontCache.ensure(dir);
+        assertTrue(Files.exists(fnt.resolveSibling(fnt.getFileName().toString().replace(".fnt", ".png"))));
+
+        BitmapFont.BitmapFontData data = new BitmapFont.BitmapFontData(new FileHandle(fnt.toFile()), false);
+        for (char c = '!'; c <= '~'; c++) assertNotNull(data.getGlyph(c), "missing '" + c + "'");
+        data.setScale(FontCache.NOMINAL_SIZE / FontCache.RENDER_SIZE);
+        assertEquals(11, data.capHeight, 1.5f);   // libGDX's default font: 11
+        assertEquals(18, data.lineHeight, 1.5f);  // and 18
+    }
+
+    @Test
+    public void reusesTheCachedFont() throws Exception {
+        Path fnt = FontCache.ensure(dir);
+        long modified = Files.getLastModifiedTime(fnt).toMillis();
+        Thread.sleep(20);
+        assertEquals(fnt, FontCache.ensure(dir));
+        assertEquals(modified, Files.getLastModifiedTime(fnt).toMillis());
+    }
+
+    @Test
+    public void outlineIsAtHalfAlpha() {
+        // left half inside, right half outside
+        int width = 16, height = 4;
+        boolean[] inside = new boolean[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width / 2; x++) inside[y * width + x] = true;
+        }
+        int[] field = FontCache.distanceField(inside, width, height, 4);
+        int row = width;
+        assertEquals(255, field[row]);                                  // far inside
+        assertEquals(0, field[row + width - 1]);                        // far outside
+        assertEquals(128, (field[row + 7] + field[row + 8]) / 2, 1);   // the edge between them
+        for (int x = 1; x < width; x++) assertTrue(field[row + x] <= field[row + x - 1]);
+    }
+}
@@ -0,0 +1,115 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The per-frame work of a screen - ticking, culling, particles, theme colours and HUD
+ * text - must not allocate, so drawing a frame leaves nothing for the garbage collector.
+ */
+public class FrameAllocationTest {
+
+    private static final Theme[] THEMES = Theme.values();
+
+    @Test
+    public void themeColoursAreShared() {
+        for (Theme theme : Theme.values()) {
+            assertSame(theme.getBackground(), theme.getBackground());
+            assertSame(theme.getSnakeBase(), theme.getSnakeBase());
+            assertSame(theme.getOverlay(), theme.getOverlay());
+        }
+    }
+
+    @Test
+    public void timesAreFormatted() {
+        assertEquals("0:00", ReplayScreen.appendTime(new StringBuilder(), 0).toString());
+        assertEquals("1:05", ReplayScreen.appendTime(new StringBuilder(), 547).toString());
+        assertEquals("12:30", ReplayScreen.appendTime(new StringBuilder(), 6250).toString());
+    }
+
+    @Test
+    public void gameFrameDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Frame frame = new Frame();
+        float sink = 0;
+        for (int i = 0; i < 3000; i++) sink += frame.run(i);  // warm up the JIT
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 3000; i++) sink += frame.run(i);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertTrue(allocated < 4096, allocated + " bytes allocated");
+        assertTrue(sink > 0);
+        assertTrue(frame.sim.getTickCount() > 0 && frame.particles.getCount() >= 0);
+    }
+
+    /**
+     * The headless part of a GameScreen frame: fixed-step ticks steered by the autopilot,
+     * eat effects, interpolated camera and culling through SnakeRenderer, particle update and
+     * instance upload, and the HUD text.
+     */
+    private static final class Frame {
+        static final float DELTA = 1 / 60f;
+        static final float VIEW = GameScreen.MAX_VIEW_CELLS * SnakeRenderer.CELL_SIZE;
+
+        final SnakeSimulation sim = new SnakeSimulation(64, 64, 11L);
+        final AutopilotPolicy autopilot = new AutopilotPolicy();
+        final FixedStepClock clock = new FixedStepClock(SnakeSimulation.MOVE_INTERVAL);
+        final ParticleSystem particles = new ParticleSystem();
+        final SnakeRenderer renderer = new SnakeRenderer(null);  // the GL-free part: view and culling
+        final float[] instances = new float[ParticleSystem.DEFAULT_CAPACITY * ParticleSystem.INSTANCE_FLOATS];
+        final StringBuilder text = new StringBuilder(64);
+
+        Frame() {
+            autopilot.reset(sim.getSeed());
+        }
+
+        float run(int frame) {
+            int steps = clock.advance(DELTA);
+            for (int s = 0; s < steps && !sim.isGameOver(); s++) {
+                int dir = autopilot.chooseTurn(sim);
+                if (dir != SnakeSimulation.NO_DIRECTION) sim.requestTurn(dir);
+                if (sim.tick() == SnakeSimulation.TICK_ATE) {
+                    particles.emitEat(sim.xAt(0) * SnakeRenderer.CELL_SIZE, sim.yAt(0) * SnakeRenderer.CELL_SIZE,
+                            THEMES[frame % THEMES.length].getFood());
+                }
+            }
+            if (sim.isGameOver()) {
+                sim.reset(frame);
+                autopilot.reset(sim.getSeed());
+            }
+
+            float alpha = clock.alpha();
+            float boardSize = sim.getWidth() * SnakeRenderer.CELL_SIZE;
+            float left = Math.max(0, Math.min(SnakeRenderer.headX(sim, alpha) - VIEW / 2, boardSize - VIEW));
+            float bottom = Math.max(0, Math.min(SnakeRenderer.headY(sim, alpha) - VIEW / 2, boardSize - VIEW));
+            renderer.setView(left, bottom, VIEW, VIEW);
+            int visible = 0;
+            int minCell = (int) (left / SnakeRenderer.CELL_SIZE);
+            int minRow = (int) (bottom / SnakeRenderer.CELL_SIZE);
+            for (int y = minRow; y < minRow + GameScreen.MAX_VIEW_CELLS; y++) {
+                for (int x = minCell; x < minCell + GameScreen.MAX_VIEW_CELLS; x++) {
+                    if (sim.segmentIndexAt(x, y) >= 0) visible++;
+                }
+            }
+            if (sim.hasFood() && renderer.isVisible(sim.getFoodX() * SnakeRenderer.CELL_SIZE,
+                    sim.getFoodY() * SnakeRenderer.CELL_SIZE, SnakeRenderer.CELL_SIZE, SnakeRenderer.CELL_SIZE)) {
+                visible++;
+            }
+
+            particles.update(DELTA);
+            int drawn = particles.writeInstances(instances, left, bottom, left + VIEW, bottom + VIEW);
+
+            text.setLength(0);
+            text.append("Score: ").append(sim.getScore());
+            text.setLength(0);
+            ReplayScreen.appendTime(text, sim.getTickCount()).append(" / ");
+            ReplayScreen.appendTime(text, 6250);
+            return visible + drawn + text.length() + alpha;
+        }
+    }
+}
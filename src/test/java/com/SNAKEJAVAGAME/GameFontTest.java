@@ -0,0 +1,73 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * GameFont lays each distinct label out once and keeps it while it is drawn; when the
+ * cache is full the least recently drawn label goes. The font's page is uploaded to
+ * {@link StubGdx}'s GL, since only the layout is under test.
+ */
+public class GameFontTest {
+
+    private static GameFont font;
+
+    @BeforeAll
+    static void loadFont(@TempDir Path dir) throws Exception {
+        StubGdx.install(dir);
+        BitmapFont.BitmapFontData data = new BitmapFont.BitmapFontData(new FileHandle(FontCache.ensure(dir).toFile()), false);
+        Texture page = new Texture(new FileHandle(data.getImagePath(0)));
+        font = new GameFont(new BitmapFont(data, new TextureRegion(page), false));
+    }
+
+    @AfterAll
+    static void dropGL() {
+        StubGdx.uninstall();
+    }
+
+    @Test
+    public void reusesTheLayoutOfARepeatedLabel() {
+        font.setScale(2f);
+        StringBuilder text = new StringBuilder("Score: 40");
+        float width = font.getWidth(text);
+        long rebuilds = font.getRebuildCount();
+        for (int frame = 0; frame < 100; frame++) {
+            text.setLength(0);
+            text.append("Score: ").append(40);  // same content, rebuilt every frame by the screen
+            assertEquals(width, font.getWidth(text));
+        }
+        assertEquals(rebuilds, font.getRebuildCount());
+
+        font.setScale(3f);
+        assertTrue(font.getWidth(text) > width);  // another scale is another layout
+        assertEquals(rebuilds + 1, font.getRebuildCount());
+    }
+
+    @Test
+    public void evictsTheLeastRecentlyDrawnLabel() {
+        font.setScale(1f);
+        font.getWidth("kept");
+        font.getWidth("dropped");
+        for (int i = 0; i < 200; i++) {
+            font.getWidth("kept");  // drawn every frame, so never the oldest
+            font.getWidth("filler " + i);
+        }
+        long rebuilds = font.getRebuildCount();
+        font.getWidth("kept");
+        assertEquals(rebuilds, font.getRebuildCount());
+        font.getWidth("dropped");
+        assertEquals(rebuilds + 1, font.getRebuildCount());
+    }
+}
@@ -0,0 +1,75 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import com.badlogic.gdx.Input;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The game screen run through whole frames on {@link StubGdx}: what it records while the
+ * player comes and goes.
+ */
+public class GameScreenTest {
+
+    private SnakeGame game;
+
+    @BeforeEach
+    void startGame(@TempDir Path dir) {
+        StubGdx.install(dir);
+        game = new SnakeGame();
+        game.create();
+        game.getPreferences().putInteger(SnakeGame.PREF_BOARD_SIZE, 64);
+        game.getAssets().finishLoading();
+    }
+
+    @AfterEach
+    void stopGame() {
+        if (game != null) game.dispose();
+        StubGdx.uninstall();
+    }
+
+    @Test
+    public void recordsARoundAcrossAVisitToTheMenu() throws Exception {
+        game.setScreen(game.getGameScreen());
+        frames(20);
+        key(Input.Keys.UP);
+        frames(10);
+
+        // to the menu and back: the round comes back paused, ESC carries on
+        game.setScreen(game.getMenuScreen());
+        frames(5);
+        assertTrue(game.isRecordingRound());
+        game.setScreen(game.getGameScreen());
+        key(Input.Keys.ESCAPE);
+        frames(20);
+        key(Input.Keys.RIGHT);
+        frames(20);
+
+        Path file = game.getReplayPath();
+        game.dispose();
+        game = null;
+        Replay replay = Replay.read(file);
+        assertEquals(2, replay.getTurnCount());
+        assertEquals(SnakeSimulation.UP, replay.getTurnDirection(0));
+        assertEquals(SnakeSimulation.RIGHT, replay.getTurnDirection(1));
+        assertTrue(replay.getEndTick() > replay.getTurnTick(1));
+    }
+
+    private void frames(int count) {
+        for (int i = 0; i < count; i++) game.render();
+    }
+
+    /** One frame with key just pressed. */
+    private void key(int key) {
+        StubGdx.press(key);
+        game.render();
+        StubGdx.release();
+    }
+}
@@ -0,0 +1,148 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import com.badlogic.gdx.graphics.Color;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Swap-remove must keep exactly the live particles, the governor must trade effects for
+ * frame time, the SIMD kernel must match the scalar one bit for bit and a large burst
+ * updates without allocating.
+ */
+public class ParticleSystemTest {
+
+    @Test
+    public void deadParticlesAreCompactedAway() {
+        ParticleSystem particles = new ParticleSystem(16);
+        for (int i = 0; i < 10; i++) {
+            // even particles die after the first update, odd ones survive
+            particles.emit(i, 0, 10, 0, 0xFFFFFFFF, i % 2 == 0 ? 0.05f : 1f, 4);
+        }
+        particles.update(0.1f);
+        assertEquals(5, particles.getCount());
+        float sum = 0;
+        for (int i = 0; i < particles.getCount(); i++) {
+            assertTrue(particles.getLife(i) > 0);
+            sum += particles.getX(i);
+        }
+        assertEquals(1 + 3 + 5 + 7 + 9 + 5 * 1f, sum, 1e-4f);  // each moved 10 * 0.1
+
+        particles.update(1f);
+        assertEquals(0, particles.getCount());
+    }
+
+    @Test
+    public void fullSystemDropsNewParticles() {
+        ParticleSystem particles = new ParticleSystem(30);
+        for (int i = 0; i < 30; i++) assertTrue(particles.emit(0, 0, 0, 0, 0, 1, 1));
+        assertFalse(particles.emit(0, 0, 0, 0, 0, 1, 1));
+        assertEquals(1, particles.getDroppedCount());
+        particles.clear();
+        assertEquals(0, particles.getCount());
+    }
+
+    @Test
+    public void slowFramesShrinkTheBudgetAndFastOnesRestoreIt() {
+        ParticleSystem particles = new ParticleSystem(4096);
+        for (int frame = 0; frame < 60; frame++) particles.update(1 / 20f);
+        assertTrue(particles.getBudget() < 1024, "budget " + particles.getBudget());
+        assertTrue(particles.getBudget() >= 256);
+
+        for (int frame = 0; frame < 600; frame++) particles.update(1 / 60f);
+        assertEquals(4096, particles.getBudget());
+    }
+
+    @Test
+    public void burstsShrinkAsTheBudgetFills() {
+        ParticleSystem particles = new ParticleSystem(100);
+        particles.emitCrash(0, 0);
+        assertEquals(20, particles.getCount());  // plenty of headroom - full burst
+        particles.update(0.001f);
+        for (int i = 0; i < 50; i++) particles.emit(0, 0, 0, 0, 0, 10, 1);
+        assertEquals(0.6f, particles.getQuality(), 1e-6f);
+        particles.emitCrash(500, 500);
+        assertEquals(70 + 12, particles.getCount());
+    }
+
+    @Test
+    public void overlappingBurstsAreMerged() {
+        ParticleSystem particles = new ParticleSystem(1000);
+        particles.emitCrash(100, 100);
+        particles.emitCrash(104, 98);   // same spot, same frame
+        assertEquals(20 + 10, particles.getCount());
+        assertEquals(1, particles.getMergedCount());
+
+        particles.emitCrash(400, 100);  // elsewhere: not merged
+        particles.update(0.001f);
+        particles.emitCrash(104, 98);   // next frame: not merged
+        assertEquals(1, particles.getMergedCount());
+    }
+
+    @Test
+    public void instancesAreCulledAndPacked() {
+        ParticleSystem particles = new ParticleSystem(8);
+        particles.emit(10, 20, 0, 0, Color.rgba8888(1f, 0.5f, 0f, 1f), 0.5f, 6);
+        particles.emit(500, 20, 0, 0, 0xFFFFFFFF, 0.5f, 6);  // outside the view
+        float[] out = new float[8 * ParticleSystem.INSTANCE_FLOATS];
+        assertEquals(1, particles.writeInstances(out, 0, 0, 100, 100));
+        assertEquals(10, out[0], 0f);
+        assertEquals(20, out[1], 0f);
+        assertEquals(6, out[2], 0f);
+        Color color = new Color();
+        Color.abgr8888ToColor(color, out[3]);
+        assertEquals(1f, color.r, 0.01f);
+        assertEquals(0.5f, color.g, 0.01f);
+        assertEquals(0f, color.b, 0.01f);
+        assertEquals(0.5f, out[4], 0f);
+        assertEquals(0.5f, out[5], 0f);
+    }
+
+    @Test
+    public void vectorKernelMatchesScalar() {
+        ParticleKernel vector = ParticleKernel.detect();
+        assumeTrue(vector != ParticleKernel.SCALAR, "no SIMD on this JVM");
+        ParticleSystem a = new ParticleSystem(1000, ParticleKernel.SCALAR);
+        ParticleSystem b = new ParticleSystem(1000, vector);
+        for (int i = 0; i < 997; i++) {  // not a multiple of the lane count, so the tail loop runs too
+            float life = 0.1f + i % 13 * 0.05f;
+            a.emit(i, -i, i % 7 * 31f, -i % 5 * 17f, 0, life, 4);
+            b.emit(i, -i, i % 7 * 31f, -i % 5 * 17f, 0, life, 4);
+        }
+        for (int frame = 0; frame < 20; frame++) {
+            a.update(1 / 60f);
+            b.update(1 / 60f);
+            assertEquals(a.getCount(), b.getCount());
+            for (int i = 0; i < a.getCount(); i++) {
+                assertEquals(a.getX(i), b.getX(i), 0f);
+                assertEquals(a.getY(i), b.getY(i), 0f);
+                assertEquals(a.getLife(i), b.getLife(i), 0f);
+            }
+        }
+        assertTrue(a.getCount() < 997);
+    }
+
+    @Test
+    public void updateDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        ParticleSystem particles = new ParticleSystem(100_000);
+        for (int frame = 0; frame < 200; frame++) {
+            while (particles.getCount() < particles.getCapacity() - 35) particles.emitGameOver(0, 0);
+            particles.update(1 / 60f);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int frame = 0; frame < 200; frame++) {
+            while (particles.getCount() < particles.getCapacity() - 35) particles.emitGameOver(0, 0);
+            particles.update(1 / 60f);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertTrue(allocated < 4096, allocated + " bytes allocated");
+    }
+}
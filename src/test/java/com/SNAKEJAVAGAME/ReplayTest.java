@@ -0,0 +1,109 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * A recorded run must replay to the identical outcome, seek exactly and stay small on disk.
+ */
+public class ReplayTest {
+
+    @TempDir
+    Path dir;
+
+    /** Plays a greedy game while recording it, returns the final simulation. */
+    private SnakeSimulation playAndRecord(Path file, long seed) {
+        return playAndRecord(file, seed, 20);
+    }
+
+    private SnakeSimulation playAndRecord(Path file, long seed, int size) {
+        SnakeSimulation sim = new SnakeSimulation(size, size, seed);
+        SnakePolicy bot = new GreedyPolicy();
+        ReplayRecorder recorder = new ReplayRecorder();
+        recorder.start(file, size, size, sim.getSeed());
+        while (!sim.isGameOver()) {
+            int dir = bot.chooseTurn(sim);
+            if (dir != SnakeSimulation.NO_DIRECTION && sim.requestTurn(dir)) {
+                recorder.recordTurn(sim.getTickCount(), dir);
+            }
+            sim.tick();
+        }
+        recorder.finish(sim.getTickCount(), sim.getScore());
+        recorder.awaitWritten();
+        return sim;
+    }
+
+    @Test
+    public void replayReproducesRun() throws Exception {
+        Path file = dir.resolve("run.replay");
+        SnakeSimulation original = playAndRecord(file, 1234L);
+
+        Replay replay = Replay.read(file);
+        assertEquals(1234L, replay.getSeed());
+        assertEquals(original.getTickCount(), replay.getEndTick());
+        assertEquals(original.getScore(), replay.getScore());
+
+        SnakeSimulation sim = new SnakeSimulation(replay.getWidth(), replay.getHeight(), replay.getSeed());
+        int next = 0;
+        while (!sim.isGameOver()) {
+            while (next < replay.getTurnCount() && replay.getTurnTick(next) == sim.getTickCount()) {
+                sim.requestTurn(replay.getTurnDirection(next++));
+            }
+            sim.tick();
+        }
+        assertEquals(replay.getTurnCount(), next);
+        assertEquals(original.getScore(), sim.getScore());
+        assertEquals(original.getTickCount(), sim.getTickCount());
+        assertEquals(original.xAt(0), sim.xAt(0));
+        assertEquals(original.yAt(0), sim.yAt(0));
+    }
+
+    @Test
+    public void encodingIsCompact() throws Exception {
+        Path file = dir.resolve("long.replay");
+        SnakeSimulation sim = playAndRecord(file, 77L);
+        Replay replay = Replay.read(file);
+        long size = Files.size(file);
+        // header (~16 bytes) + roughly one byte per turn
+        assertTrue(size <= 24 + 2L * replay.getTurnCount(), size + " bytes for " + replay.getTurnCount() + " turns");
+        assertTrue(sim.getTickCount() > 100);
+    }
+
+    @Test
+    public void seekingMatchesLinearPlayback() throws Exception {
+        Path file = dir.resolve("seek.replay");
+        playAndRecord(file, 5L, 40);
+        Replay replay = Replay.read(file);
+        assertTrue(replay.getEndTick() > 2 * ReplayPlayer.KEYFRAME_INTERVAL, "run too short: " + replay.getEndTick());
+
+        ReplayPlayer linear = new ReplayPlayer(replay);
+        assertFalse(linear.isDesynced());
+        int n = (int) replay.getEndTick() + 1;
+        int[] heads = new int[n];
+        int[] scores = new int[n];
+        for (int t = 0; t < n; t++) {
+            heads[t] = linear.getSimulation().cellAt(0);
+            scores[t] = linear.getSimulation().getScore();
+            linear.step();
+        }
+
+        ReplayPlayer player = new ReplayPlayer(replay);
+        long[] targets = {n - 1, 3, ReplayPlayer.KEYFRAME_INTERVAL, n / 2, n / 2 - 1, 0, n - 2, 400};
+        for (long target : targets) {
+            player.seek(target);
+            assertEquals(target, player.getTick());
+            assertEquals(heads[(int) target], player.getSimulation().cellAt(0), "head at " + target);
+            assertEquals(scores[(int) target], player.getSimulation().getScore(), "score at " + target);
+        }
+        player.seek(n - 1);
+        assertTrue(player.isAtEnd());
+        assertEquals(replay.getScore(), player.getSimulation().getScore());
+    }
+}
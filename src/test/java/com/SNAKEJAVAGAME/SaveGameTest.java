@@ -0,0 +1,88 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * A saved round must resume exactly where it left off, and damaged saves must be refused.
+ */
+public class SaveGameTest {
+
+    @TempDir
+    Path dir;
+
+    private static SnakeSimulation playFor(int ticks, long seed) {
+        SnakeSimulation sim = new SnakeSimulation(30, 30, seed);
+        SnakePolicy bot = new GreedyPolicy();
+        for (int t = 0; t < ticks && !sim.isGameOver(); t++) {
+            sim.requestTurn(bot.chooseTurn(sim));
+            sim.tick();
+        }
+        return sim;
+    }
+
+    @Test
+    public void resumesIdentically() throws Exception {
+        Path file = dir.resolve("saves/current.save");
+        SnakeSimulation original = playFor(150, 21L);
+        original.requestTurn(SnakeSimulation.isOpposite(original.getDirection(), SnakeSimulation.UP)
+                ? SnakeSimulation.LEFT : SnakeSimulation.UP);  // a pending turn must survive too
+        SaveGame.writeAsync(file, new SaveGame(original.snapshot(), 12.5f, 0.07f)).get();
+
+        SaveGame save = SaveGame.read(file);
+        assertEquals(12.5f, save.getPlayTime());
+        assertEquals(0.07f, save.getClockAccumulator());
+        SnakeSimulation resumed = new SnakeSimulation(save.getWidth(), save.getHeight());
+        resumed.restore(save.getSnapshot());
+        assertEquals(original.getNextDirection(), resumed.getNextDirection());
+
+        SnakePolicy a = new GreedyPolicy();
+        SnakePolicy b = new GreedyPolicy();
+        for (int t = 0; t < 300 && !original.isGameOver(); t++) {
+            original.requestTurn(a.chooseTurn(original));
+            resumed.requestTurn(b.chooseTurn(resumed));
+            assertEquals(original.tick(), resumed.tick());
+            assertEquals(original.cellAt(0), resumed.cellAt(0));
+        }
+        assertEquals(original.getScore(), resumed.getScore());
+        assertEquals(original.getTickCount(), resumed.getTickCount());
+    }
+
+    @Test
+    public void replacesTheSaveWhole() throws Exception {
+        Path file = dir.resolve("current.save");
+        SaveGame.write(file, new SaveGame(playFor(120, 8L).snapshot(), 9f, 0f));
+        SaveGame.read(file);  // a reader of the old save must not stop it being replaced
+        SnakeSimulation shorter = playFor(5, 8L);
+        SaveGame.write(file, new SaveGame(shorter.snapshot(), 1f, 0f));
+
+        assertEquals(shorter.length(), SaveGame.read(file).getSnapshot().length);
+        assertFalse(Files.exists(file.resolveSibling("current.save.part")));
+    }
+
+    @Test
+    public void rejectsCorruptSave() throws Exception {
+        Path file = dir.resolve("current.save");
+        SaveGame.write(file, new SaveGame(playFor(40, 3L).snapshot(), 1f, 0f));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x10;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> SaveGame.read(file));
+    }
+
+    @Test
+    public void deleteRunsAfterPendingWrite() throws Exception {
+        Path file = dir.resolve("current.save");
+        SaveGame.writeAsync(file, new SaveGame(playFor(10, 4L).snapshot(), 0f, 0f));
+        SaveGame.deleteAsync(file).get();
+        assertFalse(Files.exists(file));
+    }
+}
@@ -0,0 +1,182 @@
+package com.SNAKEJAVAGAME;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Rules tests for the headless snake engine.
+ */
+public class SnakeSimulationTest {
+
+    @Test
+    public void startsWithThreeSegmentsMovingRight() {
+        SnakeSimulation sim = new SnakeSimulation(20, 20, 1L);
+        assertEquals(3, sim.length());
+        assertEquals(10, sim.xAt(0));
+        assertEquals(8, sim.xAt(2));
+        assertEquals(SnakeSimulation.RIGHT, sim.getDirection());
+        assertTrue(sim.isSnakeAt(9, 10));
+        assertFalse(sim.isSnakeAt(sim.getFoodX(), sim.getFoodY()));
+    }
+
+    @Test
+    public void moveKeepsLengthAndFreesTail() {
+        SnakeSimulation sim = new SnakeSimulation(20, 20, 1L);
+        // Keep food out of the way by steering up, away from any spawn on row 10.
+        sim.requestTurn(SnakeSimulation.UP);
+        int result = sim.tick();
+        if (result == SnakeSimulation.TICK_MOVED) {
+            assertEquals(3, sim.length());
+            assertFalse(sim.isSnakeAt(8, 10));
+        }
+        assertEquals(10, sim.xAt(0));
+        assertEquals(11, sim.yAt(0));
+        assertTrue(sim.getCornerIndex(1) != -1); // head turned, so segment 1 is a corner
+    }
+
+    @Test
+    public void rejectsReversalAndBuffersSecondTurn() {
+        SnakeSimulation sim = new SnakeSimulation(20, 20, 1L);
+        assertFalse(sim.requestTurn(SnakeSimulation.LEFT));
+        assertTrue(sim.requestTurn(SnakeSimulation.UP));
+        assertTrue(sim.requestTurn(SnakeSimulation.LEFT));
+        sim.tick();
+        assertEquals(SnakeSimulation.UP, sim.getDirection());
+        assertEquals(SnakeSimulation.LEFT, sim.getNextDirection());
+    }
+
+    @Test
+    public void crashesIntoWall() {
+        SnakeSimulation sim = new SnakeSimulation(20, 20, 1L);
+        int result = SnakeSimulation.TICK_MOVED;
+        for (int i = 0; i < 40 && result != SnakeSimulation.TICK_CRASHED; i++) {
+            result = sim.tick();
+        }
+        assertEquals(SnakeSimulation.TICK_CRASHED, result);
+        assertTrue(sim.isGameOver());
+        assertEquals(SnakeSimulation.TICK_IDLE, sim.tick());
+    }
+
+    @Test
+    public void ringBufferGrowsPastInitialCapacity() {
+        SnakeSimulation sim = new SnakeSimulation(200, 200, 7L);
+        int ate = 0;
+        // Zig-zag across the board; growth only depends on eating, so just check consistency.
+        for (int t = 0; t < 20_000 && !sim.isGameOver(); t++) {
+            int x = sim.xAt(0);
+            int y = sim.yAt(0);
+            if (sim.getDirection() == SnakeSimulation.RIGHT && x == 198) sim.requestTurn(SnakeSimulation.UP);
+            else if (sim.getDirection() == SnakeSimulation.LEFT && x == 1) sim.requestTurn(SnakeSimulation.UP);
+            else if (sim.getDirection() == SnakeSimulation.UP) sim.requestTurn(x >= 100 ? SnakeSimulation.LEFT : SnakeSimulation.RIGHT);
+            if (y == 199) break;
+            if (sim.tick() == SnakeSimulation.TICK_ATE) ate++;
+        }
+        assertEquals(SnakeSimulation.START_LENGTH + ate, sim.length());
+        assertEquals(ate * SnakeSimulation.FOOD_SCORE, sim.getScore());
+        for (int i = 0; i < sim.length(); i++) {
+            assertTrue(sim.isSnakeAt(sim.xAt(i), sim.yAt(i)));
+        }
+    }
+
+    @Test
+    public void freeCellIndexTracksBody() {
+        SnakeSimulation sim = new SnakeSimulation(20, 20, 3L);
+        for (int t = 0; t < 15 && !sim.isGameOver(); t++) {
+            sim.tick();
+            assertEquals(20 * 20, sim.getFreeCellCount() + sim.length());
+            assertFalse(sim.isSnakeAt(sim.getFoodX(), sim.getFoodY()));
+        }
+    }
+
+    @Test
+    public void followingHamiltonianCycleClearsBoard() {
+        // 4x2 board, cycle: row 1 left-to-right, row 0 right-to-left
+        SnakeSimulation sim = new SnakeSimulation(4, 2, 11L);
+        int result = SnakeSimulation.TICK_MOVED;
+        for (int t = 0; t < 1000 && !sim.isGameOver(); t++) {
+            int x = sim.xAt(0);
+            int y = sim.yAt(0);
+            if (y == 1 && x == 3) sim.requestTurn(SnakeSimulation.DOWN);
+            else if (y == 0 && x == 0) sim.requestTurn(SnakeSimulation.UP);
+            else if (y == 0) sim.requestTurn(SnakeSimulation.LEFT);
+            else sim.requestTurn(SnakeSimulation.RIGHT);
+            result = sim.tick();
+        }
+        assertEquals(SnakeSimulation.TICK_CLEARED, result);
+        assertTrue(sim.isCleared());
+        assertFalse(sim.hasFood());
+        assertEquals(8, sim.length());
+        assertEquals(0, sim.getFreeCellCount());
+        assertEquals(5 * SnakeSimulation.FOOD_SCORE, sim.getScore());
+    }
+
+    @Test
+    public void foodFindsTheLastFreeCellsOfALargeBoard() {
+        // 300 x 300 needs two levels of block counts; the free cells sit at block edges in different top blocks
+        int size = 300;
+        int[] free = {0, 4095, 4096, 50_000, size * size - 1};
+        SnakeSimulation sim = new SnakeSimulation(size, size, 3L);
+        SnakeSimulation.Snapshot s = sim.snapshot();
+        s.cells = new int[size * size - free.length];
+        s.length = 0;
+        for (int c = 0, f = 0; c < size * size; c++) {
+            if (f < free.length && free[f] == c) f++;
+            else s.cells[s.length++] = c;
+        }
+        sim.restore(s);
+        assertEquals(free.length, sim.getFreeCellCount());
+
+        boolean[] hit = new boolean[free.length];
+        for (int i = 0; i < 200; i++) {
+            sim.spawnFood();
+            int food = sim.getFoodCell();
+            int f = Arrays.binarySearch(free, food);
+            assertTrue(f >= 0, "food on occupied cell " + food);
+            hit[f] = true;
+        }
+        for (boolean h : hit) assertTrue(h);
+    }
+
+    @Test
+    public void segmentIndexLookupMatchesBodyOrder() {
+        SnakeSimulation sim = new SnakeSimulation(30, 30, 5L);
+        for (int t = 0; t < 12 && !sim.isGameOver(); t++) {
+            if (t == 4) sim.requestTurn(SnakeSimulation.UP);
+            sim.tick();
+            for (int i = 0; i < sim.length(); i++) {
+                assertEquals(i, sim.segmentIndexAt(sim.xAt(i), sim.yAt(i)));
+            }
+        }
+        assertEquals(-1, sim.segmentIndexAt(0, 0));
+    }
+
+    @Test
+    public void restoreResumesIdentically() {
+        SnakeSimulation sim = new SnakeSimulation(20, 20, 9L);
+        SnakePolicy bot = new GreedyPolicy();
+        for (int t = 0; t < 60 && !sim.isGameOver(); t++) {
+            sim.requestTurn(bot.chooseTurn(sim));
+            sim.tick();
+        }
+        SnakeSimulation.Snapshot saved = sim.snapshot();
+        int[] expected = new int[200];
+        for (int t = 0; t < expected.length; t++) {
+            sim.requestTurn(bot.chooseTurn(sim));
+            sim.tick();
+            expected[t] = sim.cellAt(0) * 31 + (sim.hasFood() ? sim.getFoodX() * 20 + sim.getFoodY() : -1);
+        }
+
+        sim.restore(saved);
+        assertEquals(20 * 20, sim.getFreeCellCount() + sim.length());
+        for (int t = 0; t < expected.length; t++) {
+            sim.requestTurn(bot.chooseTurn(sim));
+            sim.tick();
+            assertEquals(expected[t], sim.cellAt(0) * 31 + (sim.hasFood() ? sim.getFoodX() * 20 + sim.getFoodY() : -1));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.SNAKEJAVAGAME;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Files;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Preferences;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * A libGDX backend that draws nothing, for running game code in tests: GL calls succeed
+ * and hand out handles, every frame is 1/60 s in a 640 x 640 window, and local files and
+ * preferences go to a directory of the test's. Keys are pressed with {@link #press} and
+ * count as just pressed until {@link #release}.
+ */
+final class StubGdx {
+
+    static final float DELTA = 1 / 60f;
+    private static final int SIZE = 640;
+    private static final int FRAMEBUFFER_COMPLETE = 0x8CD5;
+    private static final Set<Integer> pressed = new HashSet<>();
+
+    private StubGdx() {}
+
+    static void install(Path localDir) {
+        GdxNativesLoader.load();
+        pressed.clear();
+        GL20 gl = stub(GL20.class, (name, args) -> switch (name) {
+            case "glGetShaderiv", "glGetProgramiv" -> {
+                int pname = (Integer) args[1];
+                // compiled and linked, with no uniforms or attributes to look up
+                ((IntBuffer) args[2]).put(0, pname == GL20.GL_ACTIVE_UNIFORMS || pname == GL20.GL_ACTIVE_ATTRIBUTES ? 0 : 1);
+                yield null;
+            }
+            case "glCheckFramebufferStatus" -> FRAMEBUFFER_COMPLETE;
+            case "glGetShaderInfoLog", "glGetProgramInfoLog" -> "";
+            default -> null;
+        });
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+        Gdx.graphics = stub(Graphics.class, (name, args) -> switch (name) {
+            case "getGL20" -> gl;
+            case "getDeltaTime" -> DELTA;
+            case "getWidth", "getHeight", "getBackBufferWidth", "getBackBufferHeight" -> SIZE;
+            default -> null;
+        });
+        Lwjgl3Files files = new Lwjgl3Files();
+        Gdx.files = stub(Files.class, (name, args) -> switch (name) {
+            case "local" -> new FileHandle(new File(localDir.toFile(), (String) args[0]));
+            case "getLocalStoragePath" -> localDir.toString();
+            default -> Files.class.getMethod(name, types(args)).invoke(files, args);
+        });
+        Gdx.app = stub(Application.class, (name, args) -> switch (name) {
+            case "getType" -> Application.ApplicationType.Desktop;
+            case "getPreferences" -> new Lwjgl3Preferences(new FileHandle(new File(localDir.toFile(), (String) args[0])));
+            default -> null;
+        });
+        Gdx.input = stub(Input.class, (name, args) -> switch (name) {
+            case "isKeyJustPressed", "isKeyPressed" -> pressed.contains((Integer) args[0]);
+            default -> null;
+        });
+    }
+
+    static void uninstall() {
+        Gdx.gl = null;
+        Gdx.gl20 = null;
+        Gdx.graphics = null;
+        Gdx.files = null;
+        Gdx.app = null;
+        Gdx.input = null;
+    }
+
+    static void press(int key) {
+        pressed.add(key);
+    }
+
+    static void release() {
+        pressed.clear();
+    }
+
+    private interface Answer {
+        Object call(String name, Object[] args) throws Exception;
+    }
+
+    /** An implementation answering through answer, or zero, false or null where that gives null. */
+    private static <T> T stub(Class<T> type, Answer answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("hashCode")) return System.identityHashCode(proxy);
+                    if (name.equals("equals")) return proxy == args[0];
+                    Object result = answer.call(name, args);
+                    if (result != null) return result;
+                    Class<?> returns = method.getReturnType();
+                    if (returns == int.class) return name.startsWith("glGen") || name.startsWith("glCreate") ? 1 : 0;
+                    if (returns == boolean.class) return false;
+                    if (returns == float.class) return 0f;
+                    if (returns == long.class) return 0L;
+                    return null;
+                }));
+    }
+
+    private static Class<?>[] types(Object[] args) {
+        if (args == null) return new Class<?>[0];
+        Class<?>[] types = new Class<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            types[i] = args[i] instanceof Files.FileType ? Files.FileType.class : args[i].getClass();
+        }
+        return types;
+    }
+}